@@ -0,0 +1,82 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+import static org.junit.Assert.fail;
+
+/**
+ * Counts the bytes allocated by the current thread, through the HotSpot extension of
+ * ThreadMXBean. Reading the counter allocates a little by itself, which is measured once and
+ * subtracted.
+ */
+final class AllocationProbe {
+
+    private static final int WARMUP_ITERATIONS = 1000;
+    private static final int CALIBRATION_RUNS = 10;
+
+    private final com.sun.management.ThreadMXBean mThreadMXBean;
+    private final long mThreadId;
+    private long mOverheadBytes;
+
+    private AllocationProbe(com.sun.management.ThreadMXBean threadMXBean) {
+        mThreadMXBean = threadMXBean;
+        mThreadId = Thread.currentThread().getId();
+    }
+
+    /**
+     * @return A probe for the current thread, or null if this JVM can't count allocations
+     */
+    static AllocationProbe forCurrentThread() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threadMXBean.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        AllocationProbe probe = new AllocationProbe(threadMXBean);
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_RUNS; i++) {
+            final long before = probe.getAllocatedBytes();
+            overhead = Math.min(overhead, probe.getAllocatedBytes() - before);
+        }
+        probe.mOverheadBytes = overhead;
+        return probe;
+    }
+
+    private long getAllocatedBytes() {
+        return mThreadMXBean.getThreadAllocatedBytes(mThreadId);
+    }
+
+    /**
+     * @return The bytes allocated by running body the given number of times
+     */
+    long measure(int iterations, Runnable body) {
+        final long before = getAllocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            body.run();
+        }
+        return Math.max(0, getAllocatedBytes() - before - mOverheadBytes);
+    }
+
+    /**
+     * Runs body until it reaches a steady state, then fails if running it the given number of
+     * times allocates more than allowedBytes.
+     */
+    void assertSteadyStateAllocatesAtMost(String what, long allowedBytes, int iterations,
+            Runnable body) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            body.run();
+        }
+        final long bytes = measure(iterations, body);
+        if (bytes > allowedBytes) {
+            fail(String.format(Locale.US, "%s allocated %d bytes in %d runs (%.1f per run), "
+                            + "expected at most %d", what, bytes, iterations,
+                    (double) bytes / iterations, allowedBytes));
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import android.app.Activity;
+import android.app.FragmentManager;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.Bundle;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ListView;
+
+import com.leavjenn.smoothdaterangepicker.benchmark.BuildConfig;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Calendar;
+
+import static com.leavjenn.smoothdaterangepicker.date.LatencyStats.MEASURED_ITERATIONS;
+import static com.leavjenn.smoothdaterangepicker.date.LatencyStats.WARMUP_ITERATIONS;
+
+/**
+ * Measures the steps between {@link SmoothDateRangePickerFragment#show} and the first drawn
+ * frame of the dialog. Graphics are shadowed by Robolectric, so the absolute numbers don't match a device;
+ * compare them against the numbers of the parent commit on the same machine.
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class DialogColdStartBenchmark {
+
+    private static final String TAG = "benchmark";
+    private static final int YEAR = 2015;
+    private static final int MONTH = Calendar.OCTOBER;
+    private static final int DAY = 12;
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+
+    private Activity mActivity;
+    private FixedSelectionController mController;
+    private ListView mParent;
+    private int mPosition;
+
+    @Before
+    public void setUp() {
+        mActivity = Robolectric.setupActivity(Activity.class);
+        // The month views read the selected day, which a dialog that isn't shown doesn't have
+        mController = new FixedSelectionController(YEAR, MONTH, DAY);
+        mController.setSelectedRange(EpochDay.of(YEAR, MONTH, DAY),
+                EpochDay.of(YEAR, MONTH, DAY + 7));
+        mParent = new ListView(mActivity);
+        mPosition = (YEAR - mController.getMinSelectableYear()) * 12 + MONTH;
+    }
+
+    @Test
+    public void showDialog() throws Exception {
+        final FragmentManager fragmentManager = mActivity.getFragmentManager();
+        final Canvas canvas = new Canvas(Bitmap.createBitmap(WIDTH, HEIGHT,
+                Bitmap.Config.ARGB_8888));
+        final long[] showNanos = new long[MEASURED_ITERATIONS];
+        final long[] onCreateViewNanos = new long[MEASURED_ITERATIONS];
+        final long[] firstFrameNanos = new long[MEASURED_ITERATIONS];
+        for (int i = -WARMUP_ITERATIONS; i < MEASURED_ITERATIONS; i++) {
+            TimedPickerFragment fragment = new TimedPickerFragment();
+            fragment.initialize(null, YEAR, MONTH, DAY);
+
+            final long start = System.nanoTime();
+            fragment.show(fragmentManager, TAG);
+            fragmentManager.executePendingTransactions();
+            final long shown = System.nanoTime();
+            // Robolectric doesn't run traversals, so the first frame is laid out and drawn here
+            final View decorView = fragment.getDialog().getWindow().getDecorView();
+            decorView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.AT_MOST),
+                    View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.AT_MOST));
+            decorView.layout(0, 0, decorView.getMeasuredWidth(), decorView.getMeasuredHeight());
+            decorView.draw(canvas);
+            final long drawn = System.nanoTime();
+            if (i >= 0) {
+                showNanos[i] = drawn - start;
+                onCreateViewNanos[i] = fragment.mOnCreateViewNanos;
+                firstFrameNanos[i] = drawn - shown;
+            }
+
+            fragment.dismiss();
+            fragmentManager.executePendingTransactions();
+        }
+        LatencyStats.of("Dialog show to first frame", showNanos).print();
+        LatencyStats.of("onCreateView", onCreateViewNanos).print();
+        LatencyStats.of("First measure, layout and draw", firstFrameNanos).print();
+    }
+
+    @Test
+    public void yearPickerViewInit() throws Exception {
+        LatencyStats.measure("YearPickerView init", new LatencyStats.Task() {
+            @Override
+            public void setUp() {
+            }
+
+            @Override
+            public void run() {
+                new YearPickerView(mActivity, mController);
+            }
+        }).print();
+    }
+
+    @Test
+    public void monthAdapterFirstBind() throws Exception {
+        LatencyStats.measure("MonthAdapter first bind", new LatencyStats.Task() {
+            private MonthAdapter mAdapter;
+
+            @Override
+            public void setUp() {
+                mAdapter = new SimpleMonthAdapter(mActivity, mController);
+            }
+
+            @Override
+            public void run() {
+                mAdapter.getView(mPosition, null, mParent);
+            }
+        }).print();
+    }
+
+    @Test
+    public void monthViewFirstDraw() throws Exception {
+        LatencyStats.measure("MonthView first draw", new LatencyStats.Task() {
+            private View mMonthView;
+            private Canvas mCanvas;
+
+            @Override
+            public void setUp() {
+                MonthAdapter adapter = new SimpleMonthAdapter(mActivity, mController);
+                mMonthView = adapter.getView(mPosition, null, mParent);
+                mMonthView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                        View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+                mMonthView.layout(0, 0, mMonthView.getMeasuredWidth(),
+                        mMonthView.getMeasuredHeight());
+                mCanvas = new Canvas(Bitmap.createBitmap(mMonthView.getMeasuredWidth(),
+                        mMonthView.getMeasuredHeight(), Bitmap.Config.ARGB_8888));
+            }
+
+            @Override
+            public void run() {
+                mMonthView.draw(mCanvas);
+            }
+        }).print();
+    }
+
+    /**
+     * Records how long its own onCreateView took.
+     */
+    public static class TimedPickerFragment extends SmoothDateRangePickerFragment {
+
+        long mOnCreateViewNanos;
+
+        @Override
+        public View onCreateView(LayoutInflater inflater, ViewGroup container,
+                                 Bundle savedInstanceState) {
+            final long start = System.nanoTime();
+            View view = super.onCreateView(inflater, container, savedInstanceState);
+            mOnCreateViewNanos = System.nanoTime() - start;
+            return view;
+        }
+    }
+}
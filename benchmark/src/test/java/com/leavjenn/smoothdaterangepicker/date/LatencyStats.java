@@ -0,0 +1,87 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Runs a task repeatedly and reports the median and the 95th percentile of its duration.
+ */
+final class LatencyStats {
+
+    interface Task {
+        /**
+         * Prepares one run, e.g. creates a fresh view. Not measured.
+         */
+        void setUp() throws Exception;
+
+        /**
+         * The measured part of one run.
+         */
+        void run() throws Exception;
+    }
+
+    static final int WARMUP_ITERATIONS = 10;
+    static final int MEASURED_ITERATIONS = 50;
+
+    private final String mName;
+    private final long[] mSamples;
+
+    private LatencyStats(String name, long[] samples) {
+        mName = name;
+        mSamples = samples.clone();
+        Arrays.sort(mSamples);
+    }
+
+    /**
+     * Runs task {@link #WARMUP_ITERATIONS} times without measuring, so that the JIT and the
+     * static caches of the library are warm, then {@link #MEASURED_ITERATIONS} times.
+     */
+    static LatencyStats measure(String name, Task task) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            task.setUp();
+            task.run();
+        }
+        long[] samples = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            task.setUp();
+            final long start = System.nanoTime();
+            task.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        return of(name, samples);
+    }
+
+    static LatencyStats of(String name, long[] samples) {
+        if (samples.length == 0) {
+            throw new IllegalArgumentException("No samples for " + name);
+        }
+        return new LatencyStats(name, samples);
+    }
+
+    /**
+     * @param percentile 1-100
+     * @return The sample at the given percentile in nanoseconds, using the nearest rank
+     */
+    long getPercentileNanos(int percentile) {
+        final int rank = (int) Math.ceil(percentile / 100.0 * mSamples.length);
+        return mSamples[Math.max(rank, 1) - 1];
+    }
+
+    long getMedianNanos() {
+        return getPercentileNanos(50);
+    }
+
+    long getP95Nanos() {
+        return getPercentileNanos(95);
+    }
+
+    /**
+     * Prints the result as one line, e.g.
+     * "MonthView first draw      median    0.412 ms  p95    0.733 ms  (n=50)".
+     */
+    LatencyStats print() {
+        System.out.println(String.format(Locale.US, "%-24s median %8.3f ms  p95 %8.3f ms  (n=%d)",
+                mName, getMedianNanos() / 1e6, getP95Nanos() / 1e6, mSamples.length));
+        return this;
+    }
+}
@@ -0,0 +1,112 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import android.app.Activity;
+import android.view.View;
+import android.widget.ListView;
+
+import com.leavjenn.smoothdaterangepicker.benchmark.BuildConfig;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeNotNull;
+
+/**
+ * Fails if drawing or binding a month allocates once the shared caches are warm. Robolectric
+ * allocates on every call into a shadowed framework method, so the views draw through
+ * {@link RecordingCanvas} and {@link RecordingPaint}, and binding is allowed the allocations of
+ * the framework calls it has to make.
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class MonthAllocationTest {
+
+    private static final int YEAR = 2015;
+    private static final int MONTH = Calendar.OCTOBER;
+    private static final int WIDTH = 1080;
+    private static final int ITERATIONS = 1000;
+    // Title, weekday labels and day numbers
+    private static final int TEXTS_PER_DRAW = 1 + 7 + 31;
+
+    private AllocationProbe mProbe;
+    private Activity mActivity;
+    private FixedSelectionController mController;
+
+    @Before
+    public void setUp() {
+        mProbe = AllocationProbe.forCurrentThread();
+        assumeNotNull(mProbe);
+
+        mActivity = Robolectric.setupActivity(Activity.class);
+        // A selected range around the highlighted day, so the range and highlight branches draw
+        mController = new FixedSelectionController(YEAR, MONTH, 12);
+        mController.setSelectedRange(EpochDay.of(YEAR, MONTH, 12), EpochDay.of(YEAR, MONTH, 24));
+        Calendar highlighted = Calendar.getInstance();
+        highlighted.set(YEAR, MONTH, 20);
+        mController.setHighlightedDays(new Calendar[]{highlighted});
+    }
+
+    @Test
+    public void drawDoesNotAllocate() {
+        final SimpleMonthView view = new SimpleMonthView(mActivity, null, mController);
+        view.setMonthParams(YEAR, MONTH, 12, Calendar.SUNDAY);
+        view.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+        view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+        RecordingPaint.install(view);
+        final RecordingCanvas canvas = new RecordingCanvas();
+
+        view.onDraw(canvas);
+        assertEquals(TEXTS_PER_DRAW, canvas.textCount);
+
+        mProbe.assertSteadyStateAllocatesAtMost("SimpleMonthView.onDraw", 0, ITERATIONS,
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        view.onDraw(canvas);
+                    }
+                });
+    }
+
+    @Test
+    public void bindDoesNotAllocate() {
+        final MonthAdapter adapter = new SimpleMonthAdapter(mActivity, mController);
+        final ListView parent = new ListView(mActivity);
+        final int position = (YEAR - mController.getMinSelectableYear()) * 12 + MONTH;
+        final MonthView view = (MonthView) adapter.getView(position, null, parent);
+
+        // Binding a recycled view has to ask for a layout, a redraw and an accessibility update
+        final MonthView.MonthViewTouchHelper touchHelper = view.getInstalledTouchHelper();
+        final Runnable frameworkCalls = new Runnable() {
+            @Override
+            public void run() {
+                view.requestLayout();
+                view.invalidate();
+                touchHelper.invalidateRoot();
+            }
+        };
+        for (int i = 0; i < ITERATIONS; i++) {
+            frameworkCalls.run();
+        }
+        final long frameworkBytes = mProbe.measure(ITERATIONS, frameworkCalls);
+
+        mProbe.assertSteadyStateAllocatesAtMost("MonthAdapter.getView", frameworkBytes,
+                ITERATIONS, new Runnable() {
+                    private int mOffset;
+
+                    @Override
+                    public void run() {
+                        // Alternate between two months, as scrolling does
+                        adapter.getView(position + mOffset, view, parent);
+                        mOffset ^= 1;
+                    }
+                });
+    }
+}
@@ -0,0 +1,45 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import android.graphics.Paint;
+
+/**
+ * A paint that keeps the values set while drawing in plain fields, so that setting them doesn't
+ * reach the framework.
+ */
+class RecordingPaint extends Paint {
+
+    private int mColor;
+    private int mAlpha = 0xff;
+
+    @Override
+    public void setColor(int color) {
+        mColor = color;
+    }
+
+    @Override
+    public int getColor() {
+        return mColor;
+    }
+
+    @Override
+    public void setAlpha(int a) {
+        mAlpha = a;
+    }
+
+    @Override
+    public int getAlpha() {
+        return mAlpha;
+    }
+
+    /**
+     * Replaces the paints of view, so that drawing it only reaches the framework through the
+     * canvas.
+     */
+    static void install(MonthView view) {
+        view.mMonthNumPaint = new RecordingPaint();
+        view.mMonthNumBoldPaint = new RecordingPaint();
+        view.mMonthTitlePaint = new RecordingPaint();
+        view.mSelectedCirclePaint = new RecordingPaint();
+        view.mMonthDayLabelPaint = new RecordingPaint();
+    }
+}
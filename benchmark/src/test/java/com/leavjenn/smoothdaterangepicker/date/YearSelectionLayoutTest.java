@@ -0,0 +1,110 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import android.app.Activity;
+import android.view.View;
+
+import com.leavjenn.smoothdaterangepicker.benchmark.BuildConfig;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Counts the layout passes of the year list when a year is selected. Moving the indicator only
+ * has to redraw the two years involved.
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class YearSelectionLayoutTest {
+
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1080;
+    // Both near the top of the list, so that they are visible without scrolling
+    private static final int SELECTED_YEAR = 1901;
+    private static final int CLICKED_YEAR = 1903;
+
+    private FixedSelectionController mController;
+    private CountingYearPickerView mView;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.setupActivity(Activity.class);
+        mController = new FixedSelectionController(SELECTED_YEAR, Calendar.OCTOBER, 12);
+        mView = new CountingYearPickerView(activity, mController);
+        mView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        mView.layout(0, 0, WIDTH, HEIGHT);
+        mView.mLayoutRequests = 0;
+        mView.mLayoutPasses = 0;
+    }
+
+    @Test
+    public void clickingYearDoesNotLayOut() {
+        final int position = CLICKED_YEAR - mController.getMinSelectableYear();
+        final View clicked = getYearView(CLICKED_YEAR);
+        assertTrue(mView.performItemClick(clicked, position, mView.getItemIdAtPosition(position)));
+
+        assertEquals(CLICKED_YEAR, mController.getSelectedDay().year);
+        assertEquals(0, mView.mLayoutRequests);
+        assertFalse(mView.isLayoutRequested());
+        for (int i = 0; i < mView.getChildCount(); i++) {
+            assertFalse(mView.getChildAt(i).isLayoutRequested());
+        }
+
+        // A frame would only redraw
+        mView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        mView.layout(0, 0, WIDTH, HEIGHT);
+        assertEquals(0, mView.mLayoutPasses);
+        assertTrue(clicked.isSelected());
+        assertFalse(getYearView(SELECTED_YEAR).isSelected());
+    }
+
+    @Test
+    public void dateChangeDoesNotLayOut() {
+        mController.onYearSelected(CLICKED_YEAR);
+
+        assertEquals(0, mView.mLayoutRequests);
+        assertTrue(getYearView(CLICKED_YEAR).isSelected());
+        assertFalse(getYearView(SELECTED_YEAR).isSelected());
+    }
+
+    private View getYearView(int year) {
+        return mView.getChildAt(year - mController.getMinSelectableYear()
+                - mView.getFirstVisiblePosition());
+    }
+
+    /**
+     * Counts the layout requests reaching the list and the layouts that actually ran.
+     */
+    private static class CountingYearPickerView extends YearPickerView {
+
+        int mLayoutRequests;
+        int mLayoutPasses;
+
+        CountingYearPickerView(Activity activity, SmoothDateRangePickerController controller) {
+            super(activity, controller);
+        }
+
+        @Override
+        public void requestLayout() {
+            mLayoutRequests++;
+            super.requestLayout();
+        }
+
+        @Override
+        protected void onLayout(boolean changed, int l, int t, int r, int b) {
+            mLayoutPasses++;
+            super.onLayout(changed, l, t, r, b);
+        }
+    }
+}
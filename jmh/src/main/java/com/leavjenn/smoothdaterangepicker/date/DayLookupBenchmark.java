@@ -0,0 +1,98 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Calendar;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests every day of one month against a set of highlighted or selectable days, as drawing a
+ * month does. The days are spread over the default 1900-2100 range and the month is in the
+ * middle of it, which is where the legacy scan is slowest.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DayLookupBenchmark {
+
+    private static final int YEAR = 2000;
+    private static final int MONTH = Calendar.OCTOBER;
+
+    @Param({"0", "100", "5000", "50000"})
+    public int dayCount;
+
+    private Calendar[] mCalendars;
+    private MonthBitmaskIndex mBitmaskIndex;
+    private SelectableDayIndex mRunIndex;
+    private int mMonthStart;
+    private int mDaysInMonth;
+
+    @Setup
+    public void setUp() {
+        final int first = EpochDay.of(1900, Calendar.JANUARY, 1);
+        final int span = EpochDay.of(2100, Calendar.DECEMBER, 31) - first + 1;
+        // Pick dayCount distinct days, sorted
+        boolean[] picked = new boolean[span];
+        Random random = new Random(42);
+        for (int count = 0; count < dayCount; ) {
+            final int i = random.nextInt(span);
+            if (!picked[i]) {
+                picked[i] = true;
+                count++;
+            }
+        }
+        int[] days = new int[dayCount];
+        for (int i = 0, count = 0; i < span; i++) {
+            if (picked[i]) days[count++] = first + i;
+        }
+
+        mCalendars = EpochDay.toCalendars(days);
+        mBitmaskIndex = MonthBitmaskIndex.of(days);
+        mRunIndex = SelectableDayIndex.of(days);
+        mMonthStart = EpochDay.of(YEAR, MONTH, 1);
+        mDaysInMonth = EpochDay.getDaysInMonth(YEAR, MONTH);
+    }
+
+    @Benchmark
+    public int legacyScan() {
+        int found = 0;
+        for (int day = 1; day <= mDaysInMonth; day++) {
+            if (LegacyCalendarLookups.contains(mCalendars, YEAR, MONTH, day)) found++;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int monthBitmask() {
+        // MonthView fetches the mask once per month
+        final int mask = mBitmaskIndex.getMask(YEAR, MONTH);
+        int found = 0;
+        for (int day = 1; day <= mDaysInMonth; day++) {
+            if ((mask & (1 << day)) != 0) found++;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int selectableRuns() {
+        int found = 0;
+        for (int day = 1; day <= mDaysInMonth; day++) {
+            if (mRunIndex.contains(mMonthStart + day - 1)) found++;
+        }
+        return found;
+    }
+}
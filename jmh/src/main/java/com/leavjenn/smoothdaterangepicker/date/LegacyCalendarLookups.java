@@ -0,0 +1,120 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+
+/**
+ * The Calendar based lookups the picker used before it kept dates as epoch days, copied
+ * unchanged from MonthView, Utils and SmoothDateRangePickerFragment so that the benchmarks can
+ * compare against them.
+ */
+final class LegacyCalendarLookups {
+
+    private LegacyCalendarLookups() {
+    }
+
+    /**
+     * MonthView.isHighlighted and MonthView.isSelectable: a scan over the sorted days.
+     */
+    static boolean contains(Calendar[] sortedDays, int year, int month, int day) {
+        if (sortedDays == null) return false;
+        for (Calendar c : sortedDays) {
+            if (year < c.get(Calendar.YEAR)) break;
+            if (year > c.get(Calendar.YEAR)) continue;
+            if (month < c.get(Calendar.MONTH)) break;
+            if (month > c.get(Calendar.MONTH)) continue;
+            if (day < c.get(Calendar.DAY_OF_MONTH)) break;
+            if (day > c.get(Calendar.DAY_OF_MONTH)) continue;
+            return true;
+        }
+        return false;
+    }
+
+    static boolean isBeforeMin(Calendar minDate, int year, int month, int day) {
+        if (minDate == null) {
+            return false;
+        }
+
+        if (year < minDate.get(Calendar.YEAR)) {
+            return true;
+        } else if (year > minDate.get(Calendar.YEAR)) {
+            return false;
+        }
+
+        if (month < minDate.get(Calendar.MONTH)) {
+            return true;
+        } else if (month > minDate.get(Calendar.MONTH)) {
+            return false;
+        }
+
+        if (day < minDate.get(Calendar.DAY_OF_MONTH)) {
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    static boolean isAfterMax(Calendar maxDate, int year, int month, int day) {
+        if (maxDate == null) {
+            return false;
+        }
+
+        if (year > maxDate.get(Calendar.YEAR)) {
+            return true;
+        } else if (year < maxDate.get(Calendar.YEAR)) {
+            return false;
+        }
+
+        if (month > maxDate.get(Calendar.MONTH)) {
+            return true;
+        } else if (month < maxDate.get(Calendar.MONTH)) {
+            return false;
+        }
+
+        if (day > maxDate.get(Calendar.DAY_OF_MONTH)) {
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Utils.daysBetween
+     */
+    static int daysBetween(final Calendar startDate, final Calendar endDate) {
+        int MILLIS_IN_DAY = 1000 * 60 * 60 * 24;
+        long endInstant = endDate.getTimeInMillis();
+        return (int) ((endInstant - startDate.getTimeInMillis()) / MILLIS_IN_DAY);
+    }
+
+    /**
+     * SmoothDateRangePickerFragment.updateHighlightDays followed by setHighlightedDays
+     */
+    static Calendar[] highlightRange(Calendar start, Calendar end) {
+        List<Calendar> highlightList = new ArrayList<>();
+        for (int i = 0; i < daysBetween(start, end) + 1; i++) {
+            Calendar c = Calendar.getInstance();
+            c.setTime(start.getTime());
+            c.add(Calendar.DAY_OF_YEAR, i);
+            highlightList.add(c);
+        }
+        Calendar[] calendars = highlightList.toArray(new Calendar[highlightList.size()]);
+        Arrays.sort(calendars);
+        return calendars;
+    }
+
+    /**
+     * The rows MonthView.setMonthParams computed through its Calendar
+     */
+    static int numRows(Calendar calendar, int year, int month, int weekStart) {
+        calendar.set(Calendar.MONTH, month);
+        calendar.set(Calendar.YEAR, year);
+        calendar.set(Calendar.DAY_OF_MONTH, 1);
+        final int dayOfWeekStart = calendar.get(Calendar.DAY_OF_WEEK);
+        final int numCells = calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
+        final int offset = MonthGrid.findDayOffset(dayOfWeekStart, weekStart, 7);
+        return MonthGrid.calculateNumRows(offset, numCells, 7);
+    }
+}
@@ -0,0 +1,87 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lays out every month of the default 1900-2100 range, as scrolling through all of them binds
+ * them. Reports the time per month.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MonthGridBenchmark {
+
+    private static final int MIN_YEAR = 1900;
+    private static final int MAX_YEAR = 2100;
+    private static final int MONTHS = (MAX_YEAR - MIN_YEAR + 1) * 12;
+    private static final int DAYS_IN_WEEK = 7;
+
+    private final Calendar mCalendar = Calendar.getInstance();
+    private final int mWeekStart = mCalendar.getFirstDayOfWeek();
+    private final MonthLayoutTable mLayoutTable =
+            MonthLayoutTable.of(MIN_YEAR, MAX_YEAR, mWeekStart);
+
+    @Benchmark
+    @OperationsPerInvocation(MONTHS)
+    public int legacyCalendar() {
+        int rows = 0;
+        for (int year = MIN_YEAR; year <= MAX_YEAR; year++) {
+            for (int month = Calendar.JANUARY; month <= Calendar.DECEMBER; month++) {
+                rows += LegacyCalendarLookups.numRows(mCalendar, year, month, mWeekStart);
+            }
+        }
+        return rows;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MONTHS)
+    public int epochDay() {
+        int rows = 0;
+        for (int year = MIN_YEAR; year <= MAX_YEAR; year++) {
+            for (int month = Calendar.JANUARY; month <= Calendar.DECEMBER; month++) {
+                final int dayOfWeekStart = EpochDay.getDayOfWeek(EpochDay.of(year, month, 1));
+                final int offset = MonthGrid.findDayOffset(dayOfWeekStart, mWeekStart,
+                        DAYS_IN_WEEK);
+                rows += MonthGrid.calculateNumRows(offset,
+                        EpochDay.getDaysInMonth(year, month), DAYS_IN_WEEK);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Building the table once per picker, spread over its months.
+     */
+    @Benchmark
+    @OperationsPerInvocation(MONTHS)
+    public MonthLayoutTable buildLayoutTable() {
+        return MonthLayoutTable.of(MIN_YEAR, MAX_YEAR, mWeekStart);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MONTHS)
+    public int layoutTable() {
+        int rows = 0;
+        for (int year = MIN_YEAR; year <= MAX_YEAR; year++) {
+            for (int month = Calendar.JANUARY; month <= Calendar.DECEMBER; month++) {
+                rows += mLayoutTable.getNumRows(year, month);
+            }
+        }
+        return rows;
+    }
+}
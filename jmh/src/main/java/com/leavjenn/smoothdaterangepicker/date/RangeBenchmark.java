@@ -0,0 +1,126 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The work that depends on the length of the selected range: counting its days, highlighting
+ * it, and testing the days of a month against its bounds. The month drawn is the one the range
+ * ends in.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RangeBenchmark {
+
+    // 1 day to 20 years
+    @Param({"1", "30", "365", "7305"})
+    public int rangeDays;
+
+    private int mStart;
+    private int mEnd;
+    private Calendar mStartCalendar;
+    private Calendar mEndCalendar;
+    private Calendar[] mLegacyHighlightedDays;
+    private int mYear;
+    private int mMonth;
+    private int mDaysInMonth;
+
+    @Setup
+    public void setUp() {
+        mStart = EpochDay.of(2000, Calendar.JANUARY, 15);
+        mEnd = mStart + rangeDays - 1;
+        mStartCalendar = EpochDay.toCalendar(mStart, Calendar.getInstance());
+        mEndCalendar = EpochDay.toCalendar(mEnd, Calendar.getInstance());
+        mLegacyHighlightedDays = LegacyCalendarLookups.highlightRange(mStartCalendar,
+                mEndCalendar);
+        mYear = EpochDay.getYear(mEnd);
+        mMonth = EpochDay.getMonth(mEnd);
+        mDaysInMonth = EpochDay.getDaysInMonth(mYear, mMonth);
+    }
+
+    @Benchmark
+    public int legacyDaysBetween() {
+        return LegacyCalendarLookups.daysBetween(mStartCalendar, mEndCalendar);
+    }
+
+    @Benchmark
+    public int epochDaysBetween() {
+        return EpochDay.of(mYear, mMonth, EpochDay.getDayOfMonth(mEnd)) - mStart;
+    }
+
+    /**
+     * Utils.daysBetween, which still starts from two calendars.
+     */
+    @Benchmark
+    public int calendarEpochDaysBetween() {
+        return EpochDay.of(mEndCalendar) - EpochDay.of(mStartCalendar);
+    }
+
+    /**
+     * What every selection change cost before the range was kept as two epoch days.
+     */
+    @Benchmark
+    public Calendar[] legacyUpdateHighlightDays() {
+        return LegacyCalendarLookups.highlightRange(mStartCalendar, mEndCalendar);
+    }
+
+    @Benchmark
+    public int legacyIsHighlighted() {
+        int found = 0;
+        for (int day = 1; day <= mDaysInMonth; day++) {
+            if (LegacyCalendarLookups.contains(mLegacyHighlightedDays, mYear, mMonth, day)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int rangeMaskIsHighlighted() {
+        final int mask = MonthBitmaskIndex.getRangeMask(mYear, mMonth, mStart, mEnd);
+        int found = 0;
+        for (int day = 1; day <= mDaysInMonth; day++) {
+            if ((mask & (1 << day)) != 0) found++;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int legacyIsOutOfRange() {
+        int found = 0;
+        for (int day = 1; day <= mDaysInMonth; day++) {
+            if (LegacyCalendarLookups.isBeforeMin(mStartCalendar, mYear, mMonth, day)
+                    || LegacyCalendarLookups.isAfterMax(mEndCalendar, mYear, mMonth, day)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int epochDayIsOutOfRange() {
+        final int monthStart = EpochDay.of(mYear, mMonth, 1);
+        int found = 0;
+        for (int day = 1; day <= mDaysInMonth; day++) {
+            final int epochDay = monthStart + day - 1;
+            if (epochDay < mStart || epochDay > mEnd) found++;
+        }
+        return found;
+    }
+}
@@ -0,0 +1,85 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving and restoring the highlighted or selectable days, as Java serialization of the Calendar
+ * array the fragment used to put into its state, and as the bytes of {@link EpochDayCodec}.
+ * The sizes of both encodings don't depend on timing, EpochDayCodecTest prints and checks them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StateEncodingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int dayCount;
+
+    private int[] mEpochDays;
+    private Calendar[] mCalendars;
+    private byte[] mSerialized;
+    private byte[] mEncoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Every other day, as when each weekday or each working day is selectable
+        mEpochDays = new int[dayCount];
+        final int first = EpochDay.of(2000, Calendar.JANUARY, 1);
+        for (int i = 0; i < dayCount; i++) {
+            mEpochDays[i] = first + i * 2;
+        }
+        mCalendars = EpochDay.toCalendars(mEpochDays);
+        mSerialized = serialize(mCalendars);
+        mEncoded = EpochDayCodec.encode(mEpochDays);
+    }
+
+    @Benchmark
+    public byte[] legacySave() throws IOException {
+        return serialize(mCalendars);
+    }
+
+    @Benchmark
+    public Object legacyRestore() throws IOException, ClassNotFoundException {
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(mSerialized));
+        return in.readObject();
+    }
+
+    @Benchmark
+    public byte[] save() {
+        return EpochDayCodec.encode(mEpochDays);
+    }
+
+    @Benchmark
+    public int[] restore() {
+        return EpochDayCodec.decode(mEncoded);
+    }
+
+    private static byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(object);
+        out.close();
+        return bytes.toByteArray();
+    }
+}
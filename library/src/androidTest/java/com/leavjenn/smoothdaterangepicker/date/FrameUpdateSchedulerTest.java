@@ -0,0 +1,104 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import android.os.Build;
+import android.os.Handler;
+import android.test.InstrumentationTestCase;
+import android.view.Choreographer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks that the keys typed within a frame lead to a single update.
+ */
+public class FrameUpdateSchedulerTest extends InstrumentationTestCase {
+
+    private static final long FRAME_TIMEOUT_MILLIS = 1000;
+
+    private int mUpdates;
+    private FrameUpdateScheduler mScheduler;
+    // Read on the main thread, asserted on the test thread
+    private boolean mScheduled;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mScheduler = new FrameUpdateScheduler(new Runnable() {
+            @Override
+            public void run() {
+                mUpdates++;
+            }
+        });
+    }
+
+    /**
+     * Waits until the callbacks already posted for the next frame have run.
+     */
+    private void waitForFrame() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                if (Build.VERSION.SDK_INT >= 16) {
+                    Choreographer.getInstance().postFrameCallback(
+                            new Choreographer.FrameCallback() {
+                                @Override
+                                public void doFrame(long frameTimeNanos) {
+                                    latch.countDown();
+                                }
+                            });
+                } else {
+                    new Handler().post(new Runnable() {
+                        @Override
+                        public void run() {
+                            latch.countDown();
+                        }
+                    });
+                }
+            }
+        });
+        assertTrue(latch.await(FRAME_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+    }
+
+    public void testUpdatesWithinFrameAreCoalesced() throws Exception {
+        getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 5; i++) {
+                    mScheduler.schedule();
+                }
+                mScheduled = mScheduler.isScheduled();
+            }
+        });
+        assertTrue(mScheduled);
+        assertEquals(0, mUpdates);
+
+        waitForFrame();
+        assertEquals(1, mUpdates);
+        assertFalse(mScheduler.isScheduled());
+
+        getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                mScheduler.schedule();
+            }
+        });
+        waitForFrame();
+        assertEquals(2, mUpdates);
+    }
+
+    public void testCancelledUpdateDoesNotRun() throws Exception {
+        getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                mScheduler.schedule();
+                mScheduler.cancel();
+                mScheduled = mScheduler.isScheduled();
+            }
+        });
+        assertFalse(mScheduled);
+
+        waitForFrame();
+        assertEquals(0, mUpdates);
+    }
+}
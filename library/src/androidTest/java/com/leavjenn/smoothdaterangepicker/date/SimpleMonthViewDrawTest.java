@@ -0,0 +1,117 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.Debug;
+import android.test.AndroidTestCase;
+import android.view.View.MeasureSpec;
+
+import java.util.Calendar;
+
+public class SimpleMonthViewDrawTest extends AndroidTestCase {
+
+    private static final int WIDTH = 1080;
+    private static final int DRAW_COUNT = 100;
+
+    private RangeController mController;
+    private SimpleMonthView mView;
+    private Canvas mCanvas;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        // Selects the 12th to the 24th, around the highlighted 20th, and disables the 1st to 3rd
+        RangeController controller = new RangeController(
+                EpochDay.of(2015, Calendar.OCTOBER, 12), EpochDay.of(2015, Calendar.OCTOBER, 24));
+        Calendar minDate = Calendar.getInstance();
+        minDate.set(2015, Calendar.OCTOBER, 4);
+        controller.setMinDate(minDate);
+        mController = controller;
+        Calendar highlighted = Calendar.getInstance();
+        highlighted.set(2015, Calendar.OCTOBER, 20);
+        controller.setHighlightedDays(new Calendar[]{highlighted});
+
+        mView = new SimpleMonthView(getContext(), null, controller);
+        mView.setMonthParams(2015, Calendar.OCTOBER, 12, Calendar.SUNDAY);
+        mView.measure(MeasureSpec.makeMeasureSpec(WIDTH, MeasureSpec.EXACTLY),
+                MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
+        mView.layout(0, 0, mView.getMeasuredWidth(), mView.getMeasuredHeight());
+
+        mCanvas = new Canvas(Bitmap.createBitmap(mView.getMeasuredWidth(),
+                mView.getMeasuredHeight(), Bitmap.Config.ARGB_8888));
+    }
+
+    @SuppressWarnings("deprecation")
+    public void testDrawMonthNumsDoesNotAllocate() {
+        // Warm up the shared label tables
+        mView.drawMonthNums(mCanvas);
+
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+        for (int i = 0; i < DRAW_COUNT; i++) {
+            mView.drawMonthNums(mCanvas);
+        }
+        Debug.stopAllocCounting();
+
+        assertEquals(0, Debug.getThreadAllocCount());
+    }
+
+    public void testDrawDoesNotAllocate() {
+        assertDrawDoesNotAllocate();
+    }
+
+    public void testCachedDrawDoesNotAllocate() {
+        mController.setMonthRenderCacheEnabled(true);
+        assertDrawDoesNotAllocate();
+    }
+
+    @SuppressWarnings("deprecation")
+    private void assertDrawDoesNotAllocate() {
+        // Warm up the shared label tables, month titles and render cache
+        mView.draw(mCanvas);
+
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+        for (int i = 0; i < DRAW_COUNT; i++) {
+            mView.draw(mCanvas);
+        }
+        Debug.stopAllocCounting();
+
+        assertEquals(0, Debug.getThreadAllocCount());
+    }
+
+    /**
+     * A picker that isn't shown, with a fixed highlighted range.
+     */
+    public static class RangeController extends SmoothDateRangePickerFragment {
+
+        private final int mStartEpochDay;
+        private final int mEndEpochDay;
+
+        public RangeController(int startEpochDay, int endEpochDay) {
+            mStartEpochDay = startEpochDay;
+            mEndEpochDay = endEpochDay;
+        }
+
+        @Override
+        public int getStartEpochDay() {
+            return mStartEpochDay;
+        }
+
+        @Override
+        public int getEndEpochDay() {
+            return mEndEpochDay;
+        }
+
+        @Override
+        public boolean isRangeHighlighted() {
+            return true;
+        }
+
+        @Override
+        public int getHighlightedDaysInMonth(int year, int month) {
+            return super.getHighlightedDaysInMonth(year, month)
+                    | MonthBitmaskIndex.getRangeMask(year, month, mStartEpochDay, mEndEpochDay);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.leavjenn.smoothdaterangepicker;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Trace;
+
+/**
+ * Marks the phases of the picker, e.g. drawing a month or binding it, as sections of a systrace
+ * or Perfetto capture. Off by default, in which case a section costs a static field read.
+ */
+public final class PickerTrace {
+
+    private static boolean sEnabled;
+
+    private PickerTrace() {
+    }
+
+    /**
+     * Set whether the picker writes trace sections. Sections are only written on Jelly Bean MR2
+     * and later. Change it while no picker is shown, so that every section that is begun is
+     * also ended.
+     *
+     * @param enabled true to write trace sections
+     */
+    @SuppressWarnings("unused")
+    public static void setEnabled(boolean enabled) {
+        sEnabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return sEnabled;
+    }
+
+    /**
+     * Begins a section, which must be ended with {@link #endSection()} on the same thread.
+     *
+     * @param sectionName The name of the section, a constant to not allocate
+     */
+    public static void beginSection(String sectionName) {
+        if (sEnabled && Build.VERSION.SDK_INT >= 18) {
+            TraceJellyBeanMR2.beginSection(sectionName);
+        }
+    }
+
+    public static void endSection() {
+        if (sEnabled && Build.VERSION.SDK_INT >= 18) {
+            TraceJellyBeanMR2.endSection();
+        }
+    }
+
+    // Keeps the reference to Trace out of PickerTrace, so that it loads on older versions
+    @TargetApi(18)
+    private static class TraceJellyBeanMR2 {
+        static void beginSection(String sectionName) {
+            Trace.beginSection(sectionName);
+        }
+
+        static void endSection() {
+            Trace.endSection();
+        }
+    }
+}
@@ -29,6 +29,8 @@ import android.util.TypedValue;
 import android.view.View;
 import android.widget.TextView;
 
+import com.leavjenn.smoothdaterangepicker.date.EpochDay;
+
 import java.util.Calendar;
 
 /**
@@ -165,24 +167,15 @@ public class Utils {
         return typedValue.data;
     }
 
-    /* Using Calendar - THE CORRECT (& Faster) WAY**/
-    //assert: startDate must be before endDate
+    /**
+     * Counts the calendar days from one date to another, from the year, month and day of month
+     * of each calendar. The time of day is ignored, so a daylight saving time change in between
+     * doesn't shift the count.
+     *
+     * @return The number of days from startDate to endDate, negative if endDate is before
+     */
     public static int daysBetween(final Calendar startDate, final Calendar endDate) {
-        int MILLIS_IN_DAY = 1000 * 60 * 60 * 24;
-        long endInstant = endDate.getTimeInMillis();
-        int presumedDays = (int) ((endInstant - startDate.getTimeInMillis()) / MILLIS_IN_DAY);
-//        Calendar cursor = (Calendar) startDate.clone();
-//        cursor.add(Calendar.DAY_OF_YEAR, presumedDays);
-//        long instant = cursor.getTimeInMillis();
-//        if (instant == endInstant) {
-        return presumedDays;
-//        }
-//        final int step = instant < endInstant ? 1 : -1;
-//        do {
-//            cursor.add(Calendar.DAY_OF_MONTH, step);
-//            presumedDays += step;
-//        } while (cursor.getTimeInMillis() != endInstant);
-//        return presumedDays;
+        return EpochDay.of(endDate) - EpochDay.of(startDate);
     }
 
     public static void setMultiTextColorList(ColorStateList colorStateList, TextView... textViews) {
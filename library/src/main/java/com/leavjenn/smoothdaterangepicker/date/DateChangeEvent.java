@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.leavjenn.smoothdaterangepicker.date;
+
+/**
+ * Describes a change of the selected range, so that a listener can limit its work to the side,
+ * years and months that changed. Days are epoch days, see {@link EpochDay}.
+ */
+public final class DateChangeEvent {
+
+    public static final int SIDE_START = 1;
+    public static final int SIDE_END = 1 << 1;
+
+    private final int mOldStart;
+    private final int mOldEnd;
+    private final int mStart;
+    private final int mEnd;
+
+    DateChangeEvent(int oldStartEpochDay, int oldEndEpochDay, int startEpochDay,
+            int endEpochDay) {
+        mOldStart = oldStartEpochDay;
+        mOldEnd = oldEndEpochDay;
+        mStart = startEpochDay;
+        mEnd = endEpochDay;
+    }
+
+    public int getOldStartEpochDay() {
+        return mOldStart;
+    }
+
+    public int getOldEndEpochDay() {
+        return mOldEnd;
+    }
+
+    public int getStartEpochDay() {
+        return mStart;
+    }
+
+    public int getEndEpochDay() {
+        return mEnd;
+    }
+
+    /**
+     * @return {@link #SIDE_START} and {@link #SIDE_END} or'ed together for the ends of the range
+     * that moved, 0 if neither did
+     */
+    public int getChangedSides() {
+        return (mOldStart != mStart ? SIDE_START : 0) | (mOldEnd != mEnd ? SIDE_END : 0);
+    }
+
+    public boolean hasChanges() {
+        return getChangedSides() != 0;
+    }
+
+    /**
+     * @return true if the year of the start or of the end date changed
+     */
+    public boolean isYearChanged() {
+        return EpochDay.getYear(mOldStart) != EpochDay.getYear(mStart)
+                || EpochDay.getYear(mOldEnd) != EpochDay.getYear(mEnd);
+    }
+
+    /**
+     * @param year  The year
+     * @param month The month, 0-11
+     * @return true if a day of the given month entered or left the range, or stopped or started
+     * being its start or end
+     */
+    public boolean isMonthAffected(int year, int month) {
+        final int monthStart = EpochDay.of(year, month, 1);
+        final int monthEnd = monthStart + EpochDay.getDaysInMonth(year, month) - 1;
+        return overlaps(mOldStart, mStart, monthStart, monthEnd)
+                || overlaps(mOldEnd, mEnd, monthStart, monthEnd);
+    }
+
+    // Whether the days between two positions of a bound, inclusive, overlap the given days
+    private static boolean overlaps(int oldDay, int newDay, int firstDay, int lastDay) {
+        return oldDay != newDay
+                && Math.min(oldDay, newDay) <= lastDay && Math.max(oldDay, newDay) >= firstDay;
+    }
+}
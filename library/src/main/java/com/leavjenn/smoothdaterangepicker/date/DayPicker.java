@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.leavjenn.smoothdaterangepicker.date;
+
+/**
+ * A scrolling list of months, implemented either on top of a ListView ({@link DayPickerView})
+ * or a RecyclerView ({@link RecyclerDayPickerView}).
+ */
+interface DayPicker {
+
+    /**
+     * Called when the month range, highlighted days or selectable days have changed.
+     */
+    void onChange();
+
+    /**
+     * Scrolls to the selected day of the controller and marks it as selected.
+     */
+    void onDateChanged();
+
+    /**
+     * Scrolls so that the month at the given position is at the top of the list.
+     */
+    void postSetSelection(int position);
+
+    /**
+     * @return The position of the month taking up most of the list
+     */
+    int getMostVisiblePosition();
+
+    void setAccentColor(int accentColor);
+}
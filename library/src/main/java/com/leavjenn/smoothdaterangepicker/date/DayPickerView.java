@@ -32,6 +32,7 @@ import android.widget.AbsListView;
 import android.widget.AbsListView.OnScrollListener;
 import android.widget.ListView;
 
+import com.leavjenn.smoothdaterangepicker.PickerTrace;
 import com.leavjenn.smoothdaterangepicker.Utils;
 import com.leavjenn.smoothdaterangepicker.date.SmoothDateRangePickerFragment.OnDateChangedListener;
 
@@ -43,7 +44,7 @@ import java.util.Locale;
  * This displays a list of months in a calendar format with selectable days.
  */
 public abstract class DayPickerView extends ListView implements OnScrollListener,
-    OnDateChangedListener {
+    OnDateChangedListener, DayPicker {
 
     private static final String TAG = "MonthFragment";
 
@@ -91,6 +92,8 @@ public abstract class DayPickerView extends ListView implements OnScrollListener
 
     private SmoothDateRangePickerController mController;
     private boolean mPerformingScroll;
+    // Only created once a fling starts while a metrics listener is set
+    private FlingFrameCounter mFlingFrameCounter;
 
     public DayPickerView(Context context, AttributeSet attrs) {
         super(context, attrs);
@@ -175,6 +178,16 @@ public abstract class DayPickerView extends ListView implements OnScrollListener
      * @return Whether or not the view animated to the new location
      */
     public boolean goTo(MonthAdapter.CalendarDay day, boolean animate, boolean setSelected, boolean forceScroll) {
+        PickerTrace.beginSection("DayPickerView.goTo");
+        try {
+            return goToPosition(day, animate, setSelected, forceScroll);
+        } finally {
+            PickerTrace.endSection();
+        }
+    }
+
+    private boolean goToPosition(MonthAdapter.CalendarDay day, boolean animate,
+            boolean setSelected, boolean forceScroll) {
 
         // Set the selected day
         if (setSelected) {
@@ -223,7 +236,7 @@ public abstract class DayPickerView extends ListView implements OnScrollListener
                 smoothScrollToPositionFromTop(
                         position, LIST_TOP_OFFSET, GOTO_SCROLL_DURATION);
                 return true;
-            } else {
+            } else if (!isAtTop(position)) {
                 postSetSelection(position);
             }
         } else if (setSelected) {
@@ -268,7 +281,16 @@ public abstract class DayPickerView extends ListView implements OnScrollListener
      */
     protected void setMonthDisplayed(MonthAdapter.CalendarDay date) {
         mCurrentMonthDisplayed = date.month;
-        invalidateViews();
+    }
+
+    /**
+     * @return true if the month at the given position is already at the top of the list, where
+     * setting the selection would only cost a layout pass
+     */
+    private boolean isAtTop(int position) {
+        final View child = getChildAt(0);
+        return child != null && getFirstVisiblePosition() == position
+                && child.getTop() == getListPaddingTop();
     }
 
     public void setAccentColor(int accentColor) {
@@ -277,11 +299,35 @@ public abstract class DayPickerView extends ListView implements OnScrollListener
 
     @Override
     public void onScrollStateChanged(AbsListView view, int scrollState) {
+        countFlingFrames(scrollState == OnScrollListener.SCROLL_STATE_FLING);
         // use a post to prevent re-entering onScrollStateChanged before it
         // exits
         mScrollStateChangedRunnable.doScrollStateChange(view, scrollState);
     }
 
+    /**
+     * Counts the frames of a fling for the metrics listener, if one is set.
+     */
+    private void countFlingFrames(boolean flinging) {
+        // Choreographer is only available since Jelly Bean
+        if (Build.VERSION.SDK_INT < 16) {
+            return;
+        }
+        final SmoothDateRangePickerFragment.PickerMetricsListener metrics =
+                mController.getMetricsListener();
+        if (flinging) {
+            if (metrics == null) {
+                return;
+            }
+            if (mFlingFrameCounter == null) {
+                mFlingFrameCounter = new FlingFrameCounter(getContext());
+            }
+            mFlingFrameCounter.start();
+        } else if (mFlingFrameCounter != null) {
+            mFlingFrameCounter.stop(metrics);
+        }
+    }
+
     protected ScrollStateRunnable mScrollStateChangedRunnable = new ScrollStateRunnable();
 
     protected class ScrollStateRunnable implements Runnable {
@@ -372,6 +418,21 @@ public abstract class DayPickerView extends ListView implements OnScrollListener
         goTo(mController.getSelectedDay(), false, true, true);
     }
 
+    @Override
+    public void onDateChanged(DateChangeEvent event) {
+        if (!event.hasChanges()) {
+            return;
+        }
+        if (isShown()) {
+            onDateChanged();
+        } else {
+            // Only redraws the months whose days changed. The list is scrolled to the selected
+            // day by onDateChanged() once it is shown.
+            mSelectedDay.set(mController.getSelectedDay());
+            mAdapter.setSelectedDay(mSelectedDay);
+        }
+    }
+
     /**
      * Attempts to return the date that has accessibility focus.
      *
@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.leavjenn.smoothdaterangepicker.date;
+
+import java.util.Arrays;
+import java.util.Calendar;
+
+/**
+ * Helpers for representing a date as an epoch day: the number of days since Jan 1, 1970 in the
+ * proleptic Gregorian calendar. An epoch day is a plain int, so dates can be compared, stored
+ * and shifted by a number of days without allocating or touching a {@link Calendar}.
+ * <p/>
+ * Months are zero-based to match {@link Calendar#MONTH}, and days of the week are numbered
+ * {@link Calendar#SUNDAY} through {@link Calendar#SATURDAY}.
+ */
+public final class EpochDay {
+
+    /**
+     * Stands in for a lower bound that has not been set. Every valid epoch day compares greater.
+     */
+    public static final int MIN = Integer.MIN_VALUE;
+    /**
+     * Stands in for an upper bound that has not been set. Every valid epoch day compares less.
+     */
+    public static final int MAX = Integer.MAX_VALUE;
+
+    private static final int DAYS_PER_ERA = 146097;
+    // Days from 0000-03-01 to 1970-01-01
+    private static final int DAYS_0000_TO_1970 = 719468;
+
+    private EpochDay() {
+    }
+
+    /**
+     * @param year  The year
+     * @param month The month, 0-11
+     * @param day   The day of the month, 1-31
+     * @return The epoch day of the given date
+     */
+    public static int of(int year, int month, int day) {
+        // Count years from March so that the leap day is the last day of the year
+        final int y = month < 2 ? year - 1 : year;
+        final int era = (y >= 0 ? y : y - 399) / 400;
+        final int yearOfEra = y - era * 400;
+        final int dayOfYear = (153 * (month < 2 ? month + 10 : month - 2) + 2) / 5 + day - 1;
+        final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_ERA + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * @return The epoch day of the year, month and day of month currently set on the calendar
+     */
+    public static int of(Calendar calendar) {
+        return of(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH),
+                calendar.get(Calendar.DAY_OF_MONTH));
+    }
+
+    public static int getYear(int epochDay) {
+        final int dayOfEra = getDayOfEra(epochDay);
+        final int yearOfEra = getYearOfEra(dayOfEra);
+        final int marchMonth = getMarchMonth(getDayOfYear(dayOfEra, yearOfEra));
+        return yearOfEra + getEra(epochDay) * 400 + (marchMonth >= 10 ? 1 : 0);
+    }
+
+    /**
+     * @return The month of the given epoch day, 0-11
+     */
+    public static int getMonth(int epochDay) {
+        final int dayOfEra = getDayOfEra(epochDay);
+        final int marchMonth = getMarchMonth(getDayOfYear(dayOfEra, getYearOfEra(dayOfEra)));
+        return marchMonth < 10 ? marchMonth + 2 : marchMonth - 10;
+    }
+
+    /**
+     * @return The day of the month of the given epoch day, 1-31
+     */
+    public static int getDayOfMonth(int epochDay) {
+        final int dayOfEra = getDayOfEra(epochDay);
+        final int dayOfYear = getDayOfYear(dayOfEra, getYearOfEra(dayOfEra));
+        return dayOfYear - (153 * getMarchMonth(dayOfYear) + 2) / 5 + 1;
+    }
+
+    /**
+     * @return The day of the week of the given epoch day, {@link Calendar#SUNDAY} through
+     * {@link Calendar#SATURDAY}
+     */
+    public static int getDayOfWeek(int epochDay) {
+        // Jan 1, 1970 was a Thursday
+        int dayOfWeek = (epochDay + 4) % 7;
+        if (dayOfWeek < 0) {
+            dayOfWeek += 7;
+        }
+        return dayOfWeek + Calendar.SUNDAY;
+    }
+
+    public static boolean isLeapYear(int year) {
+        return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+    }
+
+    /**
+     * @param year  The year
+     * @param month The month, 0-11
+     * @return The number of days in the given month
+     */
+    public static int getDaysInMonth(int year, int month) {
+        switch (month) {
+            case Calendar.FEBRUARY:
+                return isLeapYear(year) ? 29 : 28;
+            case Calendar.APRIL:
+            case Calendar.JUNE:
+            case Calendar.SEPTEMBER:
+            case Calendar.NOVEMBER:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Sets the year, month and day of month of the calendar to the given epoch day. The time of
+     * day is left untouched.
+     *
+     * @return The given calendar
+     */
+    public static Calendar toCalendar(int epochDay, Calendar calendar) {
+        calendar.set(getYear(epochDay), getMonth(epochDay), getDayOfMonth(epochDay));
+        return calendar;
+    }
+
+    /**
+     * @return The epoch days of the given calendars in ascending order, or null if calendars is
+     * null
+     */
+    public static int[] of(Calendar[] calendars) {
+        if (calendars == null) {
+            return null;
+        }
+        int[] days = new int[calendars.length];
+        for (int i = 0; i < calendars.length; i++) {
+            days[i] = of(calendars[i]);
+        }
+        Arrays.sort(days);
+        return days;
+    }
+
+    /**
+     * @return The given epoch days if they are in ascending order, otherwise a sorted copy
+     */
+    static int[] sorted(int[] epochDays) {
+        for (int i = 1; i < epochDays.length; i++) {
+            if (epochDays[i] < epochDays[i - 1]) {
+                int[] sortedDays = epochDays.clone();
+                Arrays.sort(sortedDays);
+                return sortedDays;
+            }
+        }
+        return epochDays;
+    }
+
+    /**
+     * @return A new Calendar for every given epoch day, or null if epochDays is null
+     */
+    public static Calendar[] toCalendars(int[] epochDays) {
+        if (epochDays == null) {
+            return null;
+        }
+        Calendar[] calendars = new Calendar[epochDays.length];
+        for (int i = 0; i < epochDays.length; i++) {
+            calendars[i] = toCalendar(epochDays[i], Calendar.getInstance());
+        }
+        return calendars;
+    }
+
+    private static int getEra(int epochDay) {
+        final int z = epochDay + DAYS_0000_TO_1970;
+        return (z >= 0 ? z : z - (DAYS_PER_ERA - 1)) / DAYS_PER_ERA;
+    }
+
+    private static int getDayOfEra(int epochDay) {
+        return epochDay + DAYS_0000_TO_1970 - getEra(epochDay) * DAYS_PER_ERA;
+    }
+
+    private static int getYearOfEra(int dayOfEra) {
+        return (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / (DAYS_PER_ERA - 1)) / 365;
+    }
+
+    // Day of the year counted from March 1
+    private static int getDayOfYear(int dayOfEra, int yearOfEra) {
+        return dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    }
+
+    // Month counted from March, 0-11
+    private static int getMarchMonth(int dayOfYear) {
+        return (5 * dayOfYear + 2) / 153;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.leavjenn.smoothdaterangepicker.date;
+
+import java.util.Arrays;
+
+/**
+ * Packs epoch days into bytes for saved state. Each day is stored as its difference to the
+ * previous day, zigzag and varint encoded, so sorted days a few days apart take one byte each.
+ */
+final class EpochDayCodec {
+
+    // A zigzag encoded int takes at most 5 bytes of 7 bits
+    private static final int MAX_VARINT_BYTES = 5;
+
+    private EpochDayCodec() {
+    }
+
+    /**
+     * @param epochDays Epoch days, smallest size when in ascending order
+     * @return The encoded days, decoded by {@link #decode}
+     */
+    static byte[] encode(int[] epochDays) {
+        byte[] bytes = new byte[(epochDays.length + 1) * MAX_VARINT_BYTES];
+        int position = writeVarint(bytes, 0, epochDays.length);
+        int previous = 0;
+        for (int epochDay : epochDays) {
+            position = writeVarint(bytes, position, zigzag(epochDay - previous));
+            previous = epochDay;
+        }
+        return Arrays.copyOf(bytes, position);
+    }
+
+    /**
+     * @param bytes Days encoded by {@link #encode}
+     * @return The epoch days, in the order they were encoded in
+     * @throws IllegalArgumentException if bytes isn't a complete encoding
+     */
+    static int[] decode(byte[] bytes) {
+        final int[] position = new int[1];
+        final int count = readVarint(bytes, position);
+        if (count < 0 || count > bytes.length) {
+            throw new IllegalArgumentException("Invalid day count " + count);
+        }
+        int[] epochDays = new int[count];
+        int previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += unzigzag(readVarint(bytes, position));
+            epochDays[i] = previous;
+        }
+        return epochDays;
+    }
+
+    private static int zigzag(int n) {
+        return (n << 1) ^ (n >> 31);
+    }
+
+    private static int unzigzag(int n) {
+        return (n >>> 1) ^ -(n & 1);
+    }
+
+    private static int writeVarint(byte[] bytes, int position, int value) {
+        while ((value & ~0x7f) != 0) {
+            bytes[position++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        bytes[position++] = (byte) value;
+        return position;
+    }
+
+    // position[0] is advanced past the varint
+    private static int readVarint(byte[] bytes, int[] position) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (position[0] >= bytes.length) {
+                throw new IllegalArgumentException("Truncated epoch days");
+            }
+            final byte b = bytes[position[0]++];
+            value |= (b & 0x7f) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.leavjenn.smoothdaterangepicker.date;
+
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.os.Build;
+import android.view.Choreographer;
+import android.view.WindowManager;
+
+/**
+ * Counts the frames drawn during a fling, and the frames that should have been drawn but were
+ * skipped because the UI thread was busy.
+ */
+@TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+final class FlingFrameCounter implements Choreographer.FrameCallback {
+
+    private final long mFrameIntervalNanos;
+
+    private boolean mRunning;
+    private long mLastFrameTimeNanos;
+    private int mFrames;
+    private int mDroppedFrames;
+
+    FlingFrameCounter(Context context) {
+        final float refreshRate = ((WindowManager) context.getSystemService(Context.WINDOW_SERVICE))
+                .getDefaultDisplay().getRefreshRate();
+        mFrameIntervalNanos = (long) (1000000000 / refreshRate);
+    }
+
+    void start() {
+        if (mRunning) {
+            return;
+        }
+        mRunning = true;
+        mLastFrameTimeNanos = 0;
+        mFrames = 0;
+        mDroppedFrames = 0;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    /**
+     * Stops counting and reports the frames counted since {@link #start()}, if it was called.
+     */
+    void stop(SmoothDateRangePickerFragment.PickerMetricsListener listener) {
+        if (!mRunning) {
+            return;
+        }
+        mRunning = false;
+        Choreographer.getInstance().removeFrameCallback(this);
+        if (listener != null) {
+            listener.onFlingFrames(mFrames, mDroppedFrames);
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (mLastFrameTimeNanos != 0) {
+            // Round to the nearest number of frame intervals, vsync timestamps jitter
+            final long intervals = (frameTimeNanos - mLastFrameTimeNanos + mFrameIntervalNanos / 2)
+                    / mFrameIntervalNanos;
+            if (intervals > 1) {
+                mDroppedFrames += intervals - 1;
+            }
+        }
+        mFrames++;
+        mLastFrameTimeNanos = frameTimeNanos;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.leavjenn.smoothdaterangepicker.date;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+/**
+ * Runs an update at most once per frame, however many times it was scheduled during the frame.
+ * The update runs with the animation callbacks of the next frame, before the views are laid out
+ * and drawn, or from a posted message before Jelly Bean.
+ * <p/>
+ * Must be used on the UI thread.
+ */
+final class FrameUpdateScheduler {
+
+    private final Runnable mUpdate;
+    private FrameCallbackJellyBean mFrameCallback;
+    private Handler mHandler;
+    private Runnable mPostedUpdate;
+    private boolean mScheduled;
+
+    /**
+     * @param update The update to run, must not schedule itself again
+     */
+    FrameUpdateScheduler(Runnable update) {
+        mUpdate = update;
+    }
+
+    /**
+     * Schedules the update for the next frame, unless it is already scheduled.
+     */
+    void schedule() {
+        if (mScheduled) {
+            return;
+        }
+        mScheduled = true;
+        // Choreographer is only available since Jelly Bean
+        if (Build.VERSION.SDK_INT >= 16) {
+            if (mFrameCallback == null) {
+                mFrameCallback = new FrameCallbackJellyBean(this);
+            }
+            mFrameCallback.post();
+        } else {
+            if (mHandler == null) {
+                mHandler = new Handler(Looper.getMainLooper());
+                mPostedUpdate = new Runnable() {
+                    @Override
+                    public void run() {
+                        runUpdate();
+                    }
+                };
+            }
+            mHandler.post(mPostedUpdate);
+        }
+    }
+
+    /**
+     * @return true if the update is scheduled and hasn't run yet
+     */
+    boolean isScheduled() {
+        return mScheduled;
+    }
+
+    /**
+     * Cancels the scheduled update, if any, e.g. when the views it updates are destroyed.
+     */
+    void cancel() {
+        if (!mScheduled) {
+            return;
+        }
+        mScheduled = false;
+        if (mFrameCallback != null) {
+            mFrameCallback.remove();
+        }
+        if (mHandler != null) {
+            mHandler.removeCallbacks(mPostedUpdate);
+        }
+    }
+
+    private void runUpdate() {
+        if (!mScheduled) {
+            return;
+        }
+        mScheduled = false;
+        mUpdate.run();
+    }
+
+    // Keeps the reference to Choreographer out of FrameUpdateScheduler, so that it loads on
+    // older versions
+    @TargetApi(16)
+    private static class FrameCallbackJellyBean implements Choreographer.FrameCallback {
+        private final FrameUpdateScheduler mScheduler;
+
+        FrameCallbackJellyBean(FrameUpdateScheduler scheduler) {
+            mScheduler = scheduler;
+        }
+
+        void post() {
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+
+        void remove() {
+            Choreographer.getInstance().removeFrameCallback(this);
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            mScheduler.runUpdate();
+        }
+    }
+}
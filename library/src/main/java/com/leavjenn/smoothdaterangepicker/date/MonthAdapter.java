@@ -23,8 +23,10 @@ import android.view.ViewGroup;
 import android.widget.AbsListView.LayoutParams;
 import android.widget.BaseAdapter;
 
+import com.leavjenn.smoothdaterangepicker.PickerTrace;
+
+import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.HashMap;
 
 /**
  * An adapter for a list of {@link MonthView} items.
@@ -40,6 +42,23 @@ public abstract class MonthAdapter extends BaseAdapter implements MonthView.OnDa
 
     private int mAccentColor = -1;
 
+    // The month range the current positions were computed for
+    private int mMinYear;
+    private int mCount;
+
+    // Every month view created by this adapter, to redraw the ones showing changed days
+    private final ArrayList<MonthView> mMonthViews = new ArrayList<>();
+    private final SelectionDiff mSelectionDiff = new SelectionDiff();
+    private final SelectionDiff.OnDaysChangedListener mOnDaysChangedListener =
+            new SelectionDiff.OnDaysChangedListener() {
+                @Override
+                public void onDaysChanged(int firstEpochDay, int lastEpochDay) {
+                    invalidateDays(firstEpochDay, lastEpochDay);
+                }
+            };
+    // The months redrawn by the last selection change, reported to the metrics listener
+    private int mRedrawnMonthCount;
+
     protected static int WEEK_7_OVERHANG_HEIGHT = 7;
     protected static final int MONTHS_IN_YEAR = 12;
 
@@ -118,13 +137,53 @@ public abstract class MonthAdapter extends BaseAdapter implements MonthView.OnDa
     }
 
     /**
-     * Updates the selected day and related parameters.
+     * Updates the selected day and related parameters. Only the months whose selected day or
+     * highlighted range changed since the last call are redrawn, unless the month range itself
+     * changed.
      *
      * @param day The day to highlight
      */
     public void setSelectedDay(CalendarDay day) {
         mSelectedDay = day;
-        notifyDataSetChanged();
+        final int selectedEpochDay = EpochDay.of(day.year, day.month, day.day);
+        if (mMinYear != mController.getMinSelectableYear() || mCount != getMonthCount()) {
+            // Positions moved, every month has to be bound again
+            mMinYear = mController.getMinSelectableYear();
+            mCount = getMonthCount();
+            mSelectionDiff.update(mController, selectedEpochDay, null);
+            notifyDataSetChanged();
+            mRedrawnMonthCount = mMonthViews.size();
+        } else {
+            mRedrawnMonthCount = 0;
+            mSelectionDiff.update(mController, selectedEpochDay, mOnDaysChangedListener);
+        }
+        final SmoothDateRangePickerFragment.PickerMetricsListener metrics =
+                mController.getMetricsListener();
+        if (metrics != null) {
+            metrics.onSelectionChanged(mRedrawnMonthCount);
+        }
+    }
+
+    /**
+     * Redraws the month views showing any day from firstEpochDay to lastEpochDay, without
+     * binding them again.
+     *
+     * @param firstEpochDay The first day to redraw
+     * @param lastEpochDay  The last day to redraw, inclusive
+     */
+    public void invalidateDays(int firstEpochDay, int lastEpochDay) {
+        for (int i = 0; i < mMonthViews.size(); i++) {
+            final MonthView v = mMonthViews.get(i);
+            final int year = v.getYear();
+            final int month = v.getMonth();
+            final int monthStart = EpochDay.of(year, month, 1);
+            final int monthEnd = monthStart + EpochDay.getDaysInMonth(year, month) - 1;
+            if (monthStart <= lastEpochDay && monthEnd >= firstEpochDay) {
+                v.setSelectedDay(isSelectedDayInMonth(year, month) ? mSelectedDay.day : -1);
+                v.invalidate();
+                mRedrawnMonthCount++;
+            }
+        }
     }
 
     public CalendarDay getSelectedDay() {
@@ -140,6 +199,10 @@ public abstract class MonthAdapter extends BaseAdapter implements MonthView.OnDa
 
     @Override
     public int getCount() {
+        return mCount;
+    }
+
+    private int getMonthCount() {
         return ((mController.getMaxYear() - mController.getMinSelectableYear()) + 1) * MONTHS_IN_YEAR;
     }
 
@@ -159,17 +222,26 @@ public abstract class MonthAdapter extends BaseAdapter implements MonthView.OnDa
     }
 
     @SuppressLint("NewApi")
-    @SuppressWarnings("unchecked")
     @Override
     public View getView(int position, View convertView, ViewGroup parent) {
+        PickerTrace.beginSection("MonthAdapter.getView");
+        try {
+            return bindMonthView(position, (MonthView) convertView);
+        } finally {
+            PickerTrace.endSection();
+        }
+    }
+
+    private MonthView bindMonthView(int position, MonthView convertView) {
+        final SmoothDateRangePickerFragment.PickerMetricsListener metrics =
+                mController.getMetricsListener();
+        final long start = metrics != null ? System.nanoTime() : 0;
         MonthView v;
-        HashMap<String, Integer> drawingParams = null;
         if (convertView != null) {
-            v = (MonthView) convertView;
-            // We store the drawing parameters in the view so it can be recycled
-            drawingParams = (HashMap<String, Integer>) v.getTag();
+            v = convertView;
         } else {
             v = createMonthView(mContext);
+            mMonthViews.add(v);
             // Set up the new view
             LayoutParams params = new LayoutParams(
                     LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT);
@@ -180,13 +252,9 @@ public abstract class MonthAdapter extends BaseAdapter implements MonthView.OnDa
                 v.setAccentColor(mAccentColor);
             }
         }
-        if (drawingParams == null) {
-            drawingParams = new HashMap<String, Integer>();
-        }
-        drawingParams.clear();
 
         final int month = position % MONTHS_IN_YEAR;
-        final int year = position / MONTHS_IN_YEAR + mController.getMinSelectableYear();
+        final int year = position / MONTHS_IN_YEAR + mMinYear;
 
         int selectedDay = -1;
         if (isSelectedDayInMonth(year, month)) {
@@ -197,12 +265,11 @@ public abstract class MonthAdapter extends BaseAdapter implements MonthView.OnDa
         // height/number of weeks before being displayed.
         v.reuse();
 
-        drawingParams.put(MonthView.VIEW_PARAMS_SELECTED_DAY, selectedDay);
-        drawingParams.put(MonthView.VIEW_PARAMS_YEAR, year);
-        drawingParams.put(MonthView.VIEW_PARAMS_MONTH, month);
-        drawingParams.put(MonthView.VIEW_PARAMS_WEEK_START, mController.getFirstDayOfWeek());
-        v.setMonthParams(drawingParams);
+        v.setMonthParams(year, month, selectedDay, mController.getFirstDayOfWeek());
         v.invalidate();
+        if (metrics != null) {
+            metrics.onMonthBound(year, month, System.nanoTime() - start);
+        }
         return v;
     }
 
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.leavjenn.smoothdaterangepicker.date;
+
+import java.util.Arrays;
+
+/**
+ * An immutable set of days stored as one 32 bit mask per month, so that a month view can fetch
+ * the mask of its month once and test each day with a single bit operation.
+ */
+final class MonthBitmaskIndex {
+
+    private static final int MONTHS_IN_YEAR = 12;
+
+    // Months present in the index as year * 12 + month, in ascending order
+    private final int[] mMonths;
+    // Bit n of mMasks[i] is set if day n of mMonths[i] is in the index
+    private final int[] mMasks;
+
+    private MonthBitmaskIndex(int[] months, int[] masks) {
+        mMonths = months;
+        mMasks = masks;
+    }
+
+    /**
+     * @param epochDays Epoch days, may contain duplicates. Days in ascending order are indexed
+     *                  without being copied.
+     * @return An index of the given days, or null if epochDays is null
+     */
+    static MonthBitmaskIndex of(int[] epochDays) {
+        if (epochDays == null) {
+            return null;
+        }
+        final int[] sortedEpochDays = EpochDay.sorted(epochDays);
+        int[] months = new int[sortedEpochDays.length];
+        int[] masks = new int[sortedEpochDays.length];
+        int count = 0;
+        for (int epochDay : sortedEpochDays) {
+            final int month = EpochDay.getYear(epochDay) * MONTHS_IN_YEAR
+                    + EpochDay.getMonth(epochDay);
+            if (count == 0 || months[count - 1] != month) {
+                months[count++] = month;
+            }
+            masks[count - 1] |= 1 << EpochDay.getDayOfMonth(epochDay);
+        }
+        return new MonthBitmaskIndex(Arrays.copyOf(months, count), Arrays.copyOf(masks, count));
+    }
+
+    /**
+     * @param year  The year
+     * @param month The month, 0-11
+     * @return A mask with bit n set if day n of the given month is in the index
+     */
+    int getMask(int year, int month) {
+        final int i = Arrays.binarySearch(mMonths, year * MONTHS_IN_YEAR + month);
+        return i >= 0 ? mMasks[i] : 0;
+    }
+
+    boolean contains(int year, int month, int day) {
+        return (getMask(year, month) & (1 << day)) != 0;
+    }
+
+    /**
+     * @param year          The year
+     * @param month         The month, 0-11
+     * @param firstEpochDay The first day of the range
+     * @param lastEpochDay  The last day of the range, inclusive
+     * @return A mask with bit n set if day n of the given month is within the range
+     */
+    static int getRangeMask(int year, int month, int firstEpochDay, int lastEpochDay) {
+        final int monthStart = EpochDay.of(year, month, 1);
+        final int monthEnd = monthStart + EpochDay.getDaysInMonth(year, month) - 1;
+        if (lastEpochDay < monthStart || firstEpochDay > monthEnd) {
+            return 0;
+        }
+        final int firstDay = Math.max(firstEpochDay, monthStart) - monthStart + 1;
+        final int lastDay = Math.min(lastEpochDay, monthEnd) - monthStart + 1;
+        return (-1 >>> (31 - lastDay)) & (-1 << firstDay);
+    }
+}
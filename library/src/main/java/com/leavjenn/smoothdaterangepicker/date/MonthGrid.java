@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.leavjenn.smoothdaterangepicker.date;
+
+/**
+ * The arithmetic placing the days of a month into rows of weeks, shared by {@link MonthView}
+ * and the benchmarks, which can't depend on Android.
+ */
+final class MonthGrid {
+
+    private MonthGrid() {
+    }
+
+    /**
+     * @param dayOfWeekStart The day of the week of the first day of the month
+     * @param weekStart      The first day of the week
+     * @param numDays        The number of days in a week
+     * @return The column of the first day of the month
+     */
+    static int findDayOffset(int dayOfWeekStart, int weekStart, int numDays) {
+        return (dayOfWeekStart < weekStart ? (dayOfWeekStart + numDays) : dayOfWeekStart)
+                - weekStart;
+    }
+
+    /**
+     * @param offset   The column of the first day of the month
+     * @param numCells The number of days in the month
+     * @param numDays  The number of days in a week
+     * @return The number of rows needed to show the month
+     */
+    static int calculateNumRows(int offset, int numCells, int numDays) {
+        int dividend = (offset + numCells) / numDays;
+        int remainder = (offset + numCells) % numDays;
+        return (dividend + (remainder > 0 ? 1 : 0));
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.leavjenn.smoothdaterangepicker.date;
+
+import android.content.Context;
+import android.os.AsyncTask;
+import android.text.format.DateUtils;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Locale;
+
+/**
+ * Process-wide cache of the strings drawn by every {@link MonthView}. The strings are formatted
+ * once for the default locale and formatted again only after the default locale changes, so
+ * drawing a month doesn't allocate.
+ * <p/>
+ * Day numbers, year labels and weekday labels must be read on the UI thread. Month titles may also be
+ * formatted ahead of time on a background thread, see {@link #prefetchMonthTitles}.
+ */
+final class MonthLabels {
+
+    private static final int MAX_DAYS_IN_MONTH = 31;
+    private static final int MONTHS_IN_YEAR = 12;
+    // Must be a power of two. Large enough that the months around the visible one never evict
+    // each other, small enough to stay bounded over the 2400 months of the default range.
+    private static final int MONTH_TITLE_CACHE_SIZE = 128;
+    // Must be a power of two. Larger than the number of year labels visible at once.
+    private static final int YEAR_LABEL_CACHE_SIZE = 32;
+    private static final int MONTH_TITLE_FLAGS = DateUtils.FORMAT_SHOW_DATE
+            | DateUtils.FORMAT_SHOW_YEAR | DateUtils.FORMAT_NO_MONTH_DAY;
+
+    private static Locale sDayNumbersLocale;
+    private static String[] sDayNumbers;
+
+    private static Locale sWeekdayLabelsLocale;
+    private static String[] sWeekdayLabels;
+
+    // Direct-mapped like the month titles, keyed by the year
+    private static Locale sYearLabelsLocale;
+    private static final int[] sYearLabelKeys = new int[YEAR_LABEL_CACHE_SIZE];
+    private static final String[] sYearLabels = new String[YEAR_LABEL_CACHE_SIZE];
+
+    // Direct-mapped: the title of month year * 12 + month lives in slot key % size, if anywhere
+    private static final Object sMonthTitlesLock = new Object();
+    private static Locale sMonthTitlesLocale;
+    private static final int[] sMonthTitleKeys = new int[MONTH_TITLE_CACHE_SIZE];
+    private static final String[] sMonthTitles = new String[MONTH_TITLE_CACHE_SIZE];
+
+    private MonthLabels() {
+    }
+
+    /**
+     * @param day The day of the month, 1-31
+     * @return The day formatted with the digits of the default locale
+     */
+    static String getDayNumber(int day) {
+        final Locale locale = Locale.getDefault();
+        if (!locale.equals(sDayNumbersLocale)) {
+            String[] dayNumbers = new String[MAX_DAYS_IN_MONTH + 1];
+            for (int i = 1; i <= MAX_DAYS_IN_MONTH; i++) {
+                dayNumbers[i] = String.format(locale, "%d", i);
+            }
+            sDayNumbers = dayNumbers;
+            sDayNumbersLocale = locale;
+        }
+        return sDayNumbers[day];
+    }
+
+    /**
+     * @param dayOfWeek The day of the week, {@link Calendar#SUNDAY} through
+     *                  {@link Calendar#SATURDAY}
+     * @return The one letter label of the day of the week in the default locale
+     */
+    static String getWeekdayLabel(int dayOfWeek) {
+        final Locale locale = Locale.getDefault();
+        if (!locale.equals(sWeekdayLabelsLocale)) {
+            Calendar calendar = Calendar.getInstance();
+            String[] weekdayLabels = new String[Calendar.SATURDAY + 1];
+            for (int i = Calendar.SUNDAY; i <= Calendar.SATURDAY; i++) {
+                calendar.set(Calendar.DAY_OF_WEEK, i);
+                weekdayLabels[i] = formatWeekdayLabel(
+                        calendar.getDisplayName(Calendar.DAY_OF_WEEK, Calendar.SHORT, locale), i,
+                        locale);
+            }
+            sWeekdayLabels = weekdayLabels;
+            sWeekdayLabelsLocale = locale;
+        }
+        return sWeekdayLabels[dayOfWeek];
+    }
+
+    private static String formatWeekdayLabel(String localWeekDisplayName, int dayOfWeek,
+            Locale locale) {
+        String weekString = localWeekDisplayName.toUpperCase(locale).substring(0, 1);
+
+        if (locale.equals(Locale.CHINA) || locale.equals(Locale.CHINESE) || locale.equals(Locale.SIMPLIFIED_CHINESE) || locale.equals(Locale.TRADITIONAL_CHINESE)) {
+            int len = localWeekDisplayName.length();
+            weekString = localWeekDisplayName.substring(len -1, len);
+        }
+
+        if (locale.getLanguage().equals("he") || locale.getLanguage().equals("iw")) {
+            if(dayOfWeek != Calendar.SATURDAY) {
+                int len = localWeekDisplayName.length();
+                weekString = localWeekDisplayName.substring(len - 2, len - 1);
+            }
+            else {
+                // I know this is duplication, but it makes the code easier to grok by
+                // having all hebrew code in the same block
+                weekString = localWeekDisplayName.toUpperCase(locale).substring(0, 1);
+            }
+        }
+        return weekString;
+    }
+
+    /**
+     * @param year The year
+     * @return The year formatted with the digits of the default locale
+     */
+    static String getYearLabel(int year) {
+        final Locale locale = Locale.getDefault();
+        if (!locale.equals(sYearLabelsLocale)) {
+            Arrays.fill(sYearLabels, null);
+            sYearLabelsLocale = locale;
+        }
+        final int slot = year & (YEAR_LABEL_CACHE_SIZE - 1);
+        String label = sYearLabels[slot];
+        if (label == null || sYearLabelKeys[slot] != year) {
+            label = String.format(locale, "%d", year);
+            sYearLabelKeys[slot] = year;
+            sYearLabels[slot] = label;
+        }
+        return label;
+    }
+
+    /**
+     * @param year  The year
+     * @param month The month, 0-11
+     * @return The month and year formatted for the default locale, e.g. "October 2015"
+     */
+    static String getMonthTitle(Context context, int year, int month) {
+        final Locale locale = Locale.getDefault();
+        final int key = year * MONTHS_IN_YEAR + month;
+        String title;
+        synchronized (sMonthTitlesLock) {
+            title = getCachedMonthTitle(key, locale);
+        }
+        if (title == null) {
+            title = formatMonthTitle(context, year, month);
+            synchronized (sMonthTitlesLock) {
+                putMonthTitle(key, locale, title);
+            }
+        }
+        return title;
+    }
+
+    /**
+     * Formats the titles of the months before and after the given month on a background thread,
+     * so that they are cached by the time the user scrolls to them. Does nothing if both titles
+     * are already cached.
+     *
+     * @param year  The year
+     * @param month The month, 0-11
+     */
+    static void prefetchMonthTitles(Context context, int year, int month) {
+        final Locale locale = Locale.getDefault();
+        final int key = year * MONTHS_IN_YEAR + month;
+        synchronized (sMonthTitlesLock) {
+            if (getCachedMonthTitle(key - 1, locale) != null
+                    && getCachedMonthTitle(key + 1, locale) != null) {
+                return;
+            }
+        }
+        final Context appContext = context.getApplicationContext();
+        AsyncTask.THREAD_POOL_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                for (int prefetchKey = key - 1; prefetchKey <= key + 1; prefetchKey += 2) {
+                    synchronized (sMonthTitlesLock) {
+                        if (getCachedMonthTitle(prefetchKey, locale) != null) {
+                            continue;
+                        }
+                    }
+                    final String title = formatMonthTitle(appContext,
+                            prefetchKey / MONTHS_IN_YEAR, prefetchKey % MONTHS_IN_YEAR);
+                    synchronized (sMonthTitlesLock) {
+                        putMonthTitle(prefetchKey, locale, title);
+                    }
+                }
+            }
+        });
+    }
+
+    private static String formatMonthTitle(Context context, int year, int month) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, month, 1);
+        final long millis = calendar.getTimeInMillis();
+        return DateUtils.formatDateRange(context, millis, millis, MONTH_TITLE_FLAGS);
+    }
+
+    // Must hold sMonthTitlesLock
+    private static String getCachedMonthTitle(int key, Locale locale) {
+        if (!locale.equals(sMonthTitlesLocale)) {
+            return null;
+        }
+        final int slot = key & (MONTH_TITLE_CACHE_SIZE - 1);
+        return sMonthTitleKeys[slot] == key ? sMonthTitles[slot] : null;
+    }
+
+    // Must hold sMonthTitlesLock
+    private static void putMonthTitle(int key, Locale locale, String title) {
+        if (!locale.equals(sMonthTitlesLocale)) {
+            if (!locale.equals(Locale.getDefault())) {
+                // The default locale changed while the title was being formatted
+                return;
+            }
+            Arrays.fill(sMonthTitles, null);
+            sMonthTitlesLocale = locale;
+        }
+        final int slot = key & (MONTH_TITLE_CACHE_SIZE - 1);
+        sMonthTitleKeys[slot] = key;
+        sMonthTitles[slot] = title;
+    }
+}
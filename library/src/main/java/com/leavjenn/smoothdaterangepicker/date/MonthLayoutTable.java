@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.leavjenn.smoothdaterangepicker.date;
+
+import java.util.Calendar;
+
+/**
+ * The column of the first day, the number of days and the number of rows of every month of a
+ * range of years, for one first day of the week. Built in one pass and packed into one byte per
+ * month, so that binding, measuring and hit-testing a month view only read a byte.
+ */
+final class MonthLayoutTable {
+
+    private static final int MONTHS_IN_YEAR = 12;
+    private static final int DAYS_IN_WEEK = 7;
+    private static final int MIN_DAYS_IN_MONTH = 28;
+    private static final int MIN_ROWS = 4;
+
+    // Bits 0-2 hold the column of the first day, bits 3-4 the number of days minus 28 and bits
+    // 5-6 the number of rows minus 4
+    private static final int DAYS_SHIFT = 3;
+    private static final int ROWS_SHIFT = 5;
+    private static final int OFFSET_MASK = 0x7;
+    private static final int TWO_BIT_MASK = 0x3;
+
+    private final int mFirstYear;
+    private final int mLastYear;
+    private final int mWeekStart;
+    private final byte[] mMonths;
+
+    private MonthLayoutTable(int firstYear, int lastYear, int weekStart, byte[] months) {
+        mFirstYear = firstYear;
+        mLastYear = lastYear;
+        mWeekStart = weekStart;
+        mMonths = months;
+    }
+
+    /**
+     * @param firstYear The first year of the table
+     * @param lastYear  The last year of the table, inclusive
+     * @param weekStart The first day of the week, {@link Calendar#SUNDAY} through
+     *                  {@link Calendar#SATURDAY}
+     */
+    static MonthLayoutTable of(int firstYear, int lastYear, int weekStart) {
+        byte[] months = new byte[(lastYear - firstYear + 1) * MONTHS_IN_YEAR];
+        int dayOfWeek = EpochDay.getDayOfWeek(EpochDay.of(firstYear, Calendar.JANUARY, 1));
+        for (int i = 0; i < months.length; i++) {
+            final int days = EpochDay.getDaysInMonth(firstYear + i / MONTHS_IN_YEAR,
+                    i % MONTHS_IN_YEAR);
+            final int offset = MonthGrid.findDayOffset(dayOfWeek, weekStart, DAYS_IN_WEEK);
+            final int rows = MonthGrid.calculateNumRows(offset, days, DAYS_IN_WEEK);
+            months[i] = (byte) (offset | (days - MIN_DAYS_IN_MONTH) << DAYS_SHIFT
+                    | (rows - MIN_ROWS) << ROWS_SHIFT);
+            // The first day of the next month
+            dayOfWeek = (dayOfWeek - Calendar.SUNDAY + days) % DAYS_IN_WEEK + Calendar.SUNDAY;
+        }
+        return new MonthLayoutTable(firstYear, lastYear, weekStart, months);
+    }
+
+    /**
+     * @return true if the table has every month from firstYear to lastYear for weekStart
+     */
+    boolean covers(int firstYear, int lastYear, int weekStart) {
+        return weekStart == mWeekStart && firstYear >= mFirstYear && lastYear <= mLastYear;
+    }
+
+    /**
+     * @return true if the table has the months of the given year for weekStart
+     */
+    boolean contains(int year, int weekStart) {
+        return covers(year, year, weekStart);
+    }
+
+    /**
+     * @param year  A year the table contains
+     * @param month The month, 0-11
+     * @return The column of the first day of the month
+     */
+    int getDayOffset(int year, int month) {
+        return get(year, month) & OFFSET_MASK;
+    }
+
+    int getDaysInMonth(int year, int month) {
+        return (get(year, month) >> DAYS_SHIFT & TWO_BIT_MASK) + MIN_DAYS_IN_MONTH;
+    }
+
+    /**
+     * @return The number of rows of weeks needed to show the month, which sets its height
+     */
+    int getNumRows(int year, int month) {
+        return (get(year, month) >> ROWS_SHIFT & TWO_BIT_MASK) + MIN_ROWS;
+    }
+
+    private int get(int year, int month) {
+        return mMonths[(year - mFirstYear) * MONTHS_IN_YEAR + month];
+    }
+}
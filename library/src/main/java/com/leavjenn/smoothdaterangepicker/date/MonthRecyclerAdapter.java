@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.leavjenn.smoothdaterangepicker.date;
+
+import android.content.Context;
+import android.support.v7.widget.RecyclerView;
+import android.view.ViewGroup;
+
+import com.leavjenn.smoothdaterangepicker.date.MonthAdapter.CalendarDay;
+
+import java.util.List;
+
+/**
+ * A RecyclerView adapter for a list of {@link MonthView} items. Months are identified by their
+ * year and month, and a change of selection only updates the selected day of the bound views
+ * instead of binding them again.
+ */
+public class MonthRecyclerAdapter extends RecyclerView.Adapter<MonthRecyclerAdapter.MonthViewHolder>
+        implements MonthView.OnDayClickListener {
+
+    // Marks a change that only affects the selected day and the highlighted range
+    static final Object PAYLOAD_SELECTION = new Object();
+
+    protected static final int MONTHS_IN_YEAR = 12;
+
+    private final Context mContext;
+    protected final SmoothDateRangePickerController mController;
+
+    private CalendarDay mSelectedDay;
+
+    private int mAccentColor = -1;
+
+    // The month range the current positions were computed for
+    private int mMinYear;
+    private int mItemCount;
+
+    private final SelectionDiff mSelectionDiff = new SelectionDiff();
+    private final SelectionDiff.OnDaysChangedListener mOnDaysChangedListener =
+            new SelectionDiff.OnDaysChangedListener() {
+                @Override
+                public void onDaysChanged(int firstEpochDay, int lastEpochDay) {
+                    notifyDaysChanged(firstEpochDay, lastEpochDay);
+                }
+            };
+    // The months marked changed by the last selection change, reported to the metrics listener
+    private int mChangedMonthCount;
+
+    public static class MonthViewHolder extends RecyclerView.ViewHolder {
+        public final MonthView monthView;
+
+        public MonthViewHolder(MonthView monthView) {
+            super(monthView);
+            this.monthView = monthView;
+        }
+    }
+
+    public MonthRecyclerAdapter(Context context, SmoothDateRangePickerController controller) {
+        mContext = context;
+        mController = controller;
+        setHasStableIds(true);
+        mSelectedDay = mController.getSelectedDay();
+        mMinYear = mController.getMinSelectableYear();
+        mItemCount = getMonthCount();
+        mSelectionDiff.update(mController, getSelectedEpochDay(), null);
+    }
+
+    public void setAccentColor(int color) {
+        mAccentColor = color;
+    }
+
+    /**
+     * Updates the selected day and redraws the months whose selected day or highlighted range
+     * changed since the last call.
+     *
+     * @param day The day to highlight
+     */
+    public void setSelectedDay(CalendarDay day) {
+        mSelectedDay = day;
+        if (updateMonthRange()) {
+            mChangedMonthCount = mItemCount;
+        } else {
+            mChangedMonthCount = 0;
+            mSelectionDiff.update(mController, getSelectedEpochDay(), mOnDaysChangedListener);
+        }
+        final SmoothDateRangePickerFragment.PickerMetricsListener metrics =
+                mController.getMetricsListener();
+        if (metrics != null) {
+            metrics.onSelectionChanged(mChangedMonthCount);
+        }
+    }
+
+    /**
+     * Redraws every bound month, e.g. after the highlighted or selectable days changed.
+     */
+    public void notifyMonthsChanged() {
+        if (!updateMonthRange()) {
+            mSelectionDiff.update(mController, getSelectedEpochDay(), null);
+            notifyItemRangeChanged(0, mItemCount, PAYLOAD_SELECTION);
+        }
+    }
+
+    /**
+     * Redraws the months showing any day from firstEpochDay to lastEpochDay, without binding
+     * them again.
+     *
+     * @param firstEpochDay The first day to redraw
+     * @param lastEpochDay  The last day to redraw, inclusive
+     */
+    public void notifyDaysChanged(int firstEpochDay, int lastEpochDay) {
+        final int first = Math.max(firstEpochDay, EpochDay.of(mMinYear, 0, 1));
+        final int last = Math.min(lastEpochDay,
+                EpochDay.of(mMinYear + mItemCount / MONTHS_IN_YEAR, 0, 1) - 1);
+        if (first > last) {
+            return;
+        }
+        final int firstPosition = getPosition(first);
+        final int count = getPosition(last) - firstPosition + 1;
+        notifyItemRangeChanged(firstPosition, count, PAYLOAD_SELECTION);
+        mChangedMonthCount += count;
+    }
+
+    public CalendarDay getSelectedDay() {
+        return mSelectedDay;
+    }
+
+    @Override
+    public int getItemCount() {
+        return mItemCount;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        // The year and month, so a month keeps its id when the first selectable year changes
+        return mMinYear * MONTHS_IN_YEAR + position;
+    }
+
+    @Override
+    public MonthViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+        MonthView v = createMonthView(mContext);
+        v.setLayoutParams(new RecyclerView.LayoutParams(
+                RecyclerView.LayoutParams.MATCH_PARENT, RecyclerView.LayoutParams.WRAP_CONTENT));
+        v.setClickable(true);
+        v.setOnDayClickListener(this);
+        if (mAccentColor != -1) {
+            v.setAccentColor(mAccentColor);
+        }
+        return new MonthViewHolder(v);
+    }
+
+    @Override
+    public void onBindViewHolder(MonthViewHolder holder, int position) {
+        final SmoothDateRangePickerFragment.PickerMetricsListener metrics =
+                mController.getMetricsListener();
+        final long start = metrics != null ? System.nanoTime() : 0;
+        final MonthView v = holder.monthView;
+        final int month = position % MONTHS_IN_YEAR;
+        final int year = position / MONTHS_IN_YEAR + mMinYear;
+
+        // Invokes requestLayout() to ensure that the recycled view is set with the appropriate
+        // height/number of weeks before being displayed.
+        v.reuse();
+
+        v.setMonthParams(year, month, getSelectedDayInMonth(year, month),
+                mController.getFirstDayOfWeek());
+        v.invalidate();
+        if (metrics != null) {
+            metrics.onMonthBound(year, month, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(MonthViewHolder holder, int position, List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        // Only the selection changed: the month, and therefore the layout, is the same
+        final MonthView v = holder.monthView;
+        v.setSelectedDay(getSelectedDayInMonth(v.getYear(), v.getMonth()));
+        v.invalidate();
+    }
+
+    protected MonthView createMonthView(Context context) {
+        return new SimpleMonthView(context, null, mController);
+    }
+
+    @Override
+    public void onDayClick(MonthView view, CalendarDay day) {
+        if (day != null) {
+            onDayTapped(day);
+        }
+    }
+
+    /**
+     * Maintains the same hour/min/sec but moves the day to the tapped day.
+     *
+     * @param day The day that was tapped
+     */
+    protected void onDayTapped(CalendarDay day) {
+        mController.tryVibrate();
+        mController.onDayOfMonthSelected(day.year, day.month, day.day);
+        setSelectedDay(day);
+    }
+
+    private int getPosition(int epochDay) {
+        return (EpochDay.getYear(epochDay) - mMinYear) * MONTHS_IN_YEAR
+                + EpochDay.getMonth(epochDay);
+    }
+
+    private int getSelectedEpochDay() {
+        return EpochDay.of(mSelectedDay.year, mSelectedDay.month, mSelectedDay.day);
+    }
+
+    private int getSelectedDayInMonth(int year, int month) {
+        return mSelectedDay.year == year && mSelectedDay.month == month ? mSelectedDay.day : -1;
+    }
+
+    private int getMonthCount() {
+        return ((mController.getMaxYear() - mController.getMinSelectableYear()) + 1) * MONTHS_IN_YEAR;
+    }
+
+    /**
+     * Binds every month again if the month range changed, since positions moved.
+     *
+     * @return true if the month range changed
+     */
+    private boolean updateMonthRange() {
+        if (mMinYear == mController.getMinSelectableYear() && mItemCount == getMonthCount()) {
+            return false;
+        }
+        mMinYear = mController.getMinSelectableYear();
+        mItemCount = getMonthCount();
+        mSelectionDiff.update(mController, getSelectedEpochDay(), null);
+        notifyDataSetChanged();
+        return true;
+    }
+}
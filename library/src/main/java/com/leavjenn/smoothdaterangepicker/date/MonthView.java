@@ -22,28 +22,31 @@ import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Paint.Align;
 import android.graphics.Paint.Style;
+import android.graphics.Picture;
 import android.graphics.Rect;
+import android.graphics.Region;
 import android.graphics.Typeface;
+import android.os.Build;
 import android.os.Bundle;
 import android.support.annotation.NonNull;
+import android.support.v4.util.LruCache;
 import android.support.v4.view.ViewCompat;
 import android.support.v4.view.accessibility.AccessibilityNodeInfoCompat;
 import android.support.v4.widget.ExploreByTouchHelper;
 import android.text.format.DateFormat;
-import android.text.format.DateUtils;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.accessibility.AccessibilityEvent;
 import android.view.accessibility.AccessibilityNodeInfo;
 
+import com.leavjenn.smoothdaterangepicker.PickerTrace;
 import com.leavjenn.smoothdaterangepicker.R;
 import com.leavjenn.smoothdaterangepicker.TypefaceHelper;
 import com.leavjenn.smoothdaterangepicker.date.MonthAdapter.CalendarDay;
 
 import java.security.InvalidParameterException;
 import java.util.Calendar;
-import java.util.Formatter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -109,6 +112,15 @@ public abstract class MonthView extends View {
 
     private static final int SELECTED_CIRCLE_ALPHA = 255;
 
+    // The number of month static layers kept by the render cache
+    private static final int RENDER_CACHE_SIZE = 24;
+    private static final int ALL_DAYS = -1;
+
+    // Recorded title, weekday labels and plain day numbers of recently drawn months, shared by
+    // all month views
+    private static final LruCache<RenderCacheKey, Picture> sRenderCache =
+            new LruCache<>(RENDER_CACHE_SIZE);
+
     protected static int DAY_SEPARATOR_WIDTH = 1;
     protected static int MINI_DAY_NUMBER_TEXT_SIZE;
     protected static int MONTH_LABEL_TEXT_SIZE;
@@ -128,12 +140,11 @@ public abstract class MonthView extends View {
     private String mMonthTitleTypeface;
 
     protected Paint mMonthNumPaint;
+    protected Paint mMonthNumBoldPaint;
     protected Paint mMonthTitlePaint;
     protected Paint mSelectedCirclePaint;
     protected Paint mMonthDayLabelPaint;
 
-    private final Formatter mFormatter;
-    private final StringBuilder mStringBuilder;
 
     // The Julian day of the first day displayed by this item
     protected int mFirstJulianDay = -1;
@@ -169,8 +180,13 @@ public abstract class MonthView extends View {
     private final Calendar mCalendar;
     protected final Calendar mDayLabelCalendar;
     private final MonthViewTouchHelper mTouchHelper;
+    private final RenderCacheKey mRenderCacheKey = new RenderCacheKey();
+    // Set while the selection independent layer is recorded into the render cache
+    private boolean mRecordingStaticLayer;
 
     protected int mNumRows = DEFAULT_NUM_ROWS;
+    // Bit n is set if day n of this month is highlighted, refreshed on every draw
+    protected int mHighlightedDaysMask;
 
     // Optional listener for handling day click actions
     protected OnDayClickListener mOnDayClickListener;
@@ -218,9 +234,6 @@ public abstract class MonthView extends View {
         mTodayNumberColor = res.getColor(R.color.mdtp_accent_color);
         mMonthTitleColor = res.getColor(R.color.mdtp_white);
 
-        mStringBuilder = new StringBuilder(50);
-        mFormatter = new Formatter(mStringBuilder, Locale.getDefault());
-
         MINI_DAY_NUMBER_TEXT_SIZE = res.getDimensionPixelSize(R.dimen.mdtp_day_number_size);
         MONTH_LABEL_TEXT_SIZE = res.getDimensionPixelSize(R.dimen.mdtp_month_label_size);
         MONTH_DAY_LABEL_TEXT_SIZE = res.getDimensionPixelSize(R.dimen.mdtp_month_day_label_text_size);
@@ -249,6 +262,13 @@ public abstract class MonthView extends View {
         return new MonthViewTouchHelper(this);
     }
 
+    /**
+     * @return The touch helper installed as this view's accessibility delegate
+     */
+    MonthViewTouchHelper getInstalledTouchHelper() {
+        return mTouchHelper;
+    }
+
     @Override
     public void setAccessibilityDelegate(AccessibilityDelegate delegate) {
         // Workaround for a JB MR1 issue where accessibility delegates on
@@ -321,6 +341,10 @@ public abstract class MonthView extends View {
         mMonthNumPaint.setStyle(Style.FILL);
         mMonthNumPaint.setTextAlign(Align.CENTER);
         mMonthNumPaint.setFakeBoldText(false);
+        mMonthNumPaint.setTypeface(Typeface.DEFAULT);
+
+        mMonthNumBoldPaint = new Paint(mMonthNumPaint);
+        mMonthNumBoldPaint.setTypeface(Typeface.DEFAULT_BOLD);
     }
 
     public void setAccentColor(int color) {
@@ -330,12 +354,156 @@ public abstract class MonthView extends View {
 
     @Override
     protected void onDraw(Canvas canvas) {
+        PickerTrace.beginSection("MonthView.onDraw");
+        try {
+            final SmoothDateRangePickerFragment.PickerMetricsListener metrics =
+                    mController.getMetricsListener();
+            if (metrics == null) {
+                drawMonth(canvas);
+            } else {
+                final long start = System.nanoTime();
+                drawMonth(canvas);
+                metrics.onMonthDrawn(mYear, mMonth, System.nanoTime() - start);
+            }
+        } finally {
+            PickerTrace.endSection();
+        }
+    }
+
+    private void drawMonth(Canvas canvas) {
+        mHighlightedDaysMask = mController.getHighlightedDaysInMonth(mYear, mMonth);
+        if (canUseRenderCache(canvas)) {
+            // The cached layer draws every day plain, the days that depend on the selection are
+            // cut out of it and drawn over it
+            int selectionDays = mHighlightedDaysMask | getDisabledDays();
+            if (mSelectedDay > 0) {
+                selectionDays |= 1 << mSelectedDay;
+            }
+            final int saveCount = canvas.save();
+            clipOutDays(canvas, selectionDays);
+            canvas.drawPicture(getStaticLayer());
+            canvas.restoreToCount(saveCount);
+            drawMonthNums(canvas, selectionDays);
+            return;
+        }
         drawMonthTitle(canvas);
         drawMonthDayLabels(canvas);
         drawMonthNums(canvas);
     }
 
-    private int mDayOfWeekStart = 0;
+    private boolean canUseRenderCache(Canvas canvas) {
+        // Pictures can't be drawn on a hardware accelerated canvas before Marshmallow
+        return mController != null && mController.isMonthRenderCacheEnabled() && mWidth > 0
+                && (Build.VERSION.SDK_INT >= 23 || !canvas.isHardwareAccelerated());
+    }
+
+    /**
+     * @return A mask with bit n set if day n is out of range. The minimum selectable day moves
+     * with the start of the range, so this can change with the selection.
+     */
+    private int getDisabledDays() {
+        if (mController.hasSelectableDays()) {
+            int disabledDays = 0;
+            for (int day = 1; day <= mNumCells; day++) {
+                if (isOutOfRange(mYear, mMonth, day)) {
+                    disabledDays |= 1 << day;
+                }
+            }
+            return disabledDays;
+        }
+        final int allDays = (-1 >>> (31 - mNumCells)) & ~1;
+        return allDays & ~MonthBitmaskIndex.getRangeMask(mYear, mMonth,
+                mController.getMinSelectableEpochDay(), mController.getMaxEpochDay());
+    }
+
+    /**
+     * Removes the cells of the given days from the clip, one rectangle per run of days in a row.
+     *
+     * @param days A mask with bit n set if day n should be clipped out
+     */
+    private void clipOutDays(Canvas canvas, int days) {
+        if (days == 0) {
+            return;
+        }
+        final float dayWidth = (mWidth - mEdgePadding * 2) / (float) mNumDays;
+        int top = getMonthHeaderSize();
+        int column = findDayOffset();
+        int runStart = -1;
+        for (int day = 1; day <= mNumCells; day++) {
+            if ((days & (1 << day)) != 0) {
+                if (runStart < 0) {
+                    runStart = column;
+                }
+            } else if (runStart >= 0) {
+                canvas.clipRect(mEdgePadding + runStart * dayWidth, top,
+                        mEdgePadding + column * dayWidth, top + mRowHeight, Region.Op.DIFFERENCE);
+                runStart = -1;
+            }
+            column++;
+            if (column == mNumDays || day == mNumCells) {
+                if (runStart >= 0) {
+                    canvas.clipRect(mEdgePadding + runStart * dayWidth, top,
+                            mEdgePadding + column * dayWidth, top + mRowHeight,
+                            Region.Op.DIFFERENCE);
+                    runStart = -1;
+                }
+                column = 0;
+                top += mRowHeight;
+            }
+        }
+    }
+
+    private Picture getStaticLayer() {
+        final RenderCacheKey key = mRenderCacheKey;
+        key.year = mYear;
+        key.month = mMonth;
+        key.width = mWidth;
+        key.rowHeight = mRowHeight;
+        key.edgePadding = mEdgePadding;
+        key.weekStart = mWeekStart;
+        key.numDays = mNumDays;
+        key.today = mHasToday ? mToday : -1;
+        key.textColor = mDayTextColor;
+        key.labelTextColor = mMonthDayTextColor;
+        key.todayTextColor = mTodayNumberColor;
+        key.highlightedTextColor = mHighlightedDayTextColor;
+        key.disabledTextColor = mDisabledDayTextColor;
+        key.locale = Locale.getDefault();
+
+        Picture picture = sRenderCache.get(key);
+        if (picture == null) {
+            picture = new Picture();
+            Canvas canvas = picture.beginRecording(mWidth, getHeight());
+            // Record the days as if nothing were selected, highlighted or out of range
+            final int selectedDay = mSelectedDay;
+            final int highlightedDaysMask = mHighlightedDaysMask;
+            mSelectedDay = -1;
+            mHighlightedDaysMask = 0;
+            mRecordingStaticLayer = true;
+            try {
+                drawMonthTitle(canvas);
+                drawMonthDayLabels(canvas);
+                drawMonthNums(canvas, ALL_DAYS);
+            } finally {
+                mSelectedDay = selectedDay;
+                mHighlightedDaysMask = highlightedDaysMask;
+                mRecordingStaticLayer = false;
+                picture.endRecording();
+            }
+            sRenderCache.put(new RenderCacheKey(key), picture);
+        }
+        return picture;
+    }
+
+    /**
+     * @return The render cache shared by all month views, for tests
+     */
+    static LruCache<?, Picture> getRenderCache() {
+        return sRenderCache;
+    }
+
+    // The column of the first day of the month
+    private int mDayOffset = 0;
 
     /**
      * Sets all the parameters for displaying this week. The only required
@@ -346,7 +514,10 @@ public abstract class MonthView extends View {
      *
      * @param params A viewMap of the new parameters, see
      *            {@link #VIEW_PARAMS_HEIGHT}
+     * @deprecated Boxes every parameter on every bind, use
+     * {@link #setMonthParams(int, int, int, int)} instead
      */
+    @Deprecated
     public void setMonthParams(HashMap<String, Integer> params) {
         if (!params.containsKey(VIEW_PARAMS_MONTH) && !params.containsKey(VIEW_PARAMS_YEAR)) {
             throw new InvalidParameterException("You must specify month and year for this view");
@@ -359,41 +530,62 @@ public abstract class MonthView extends View {
                 mRowHeight = MIN_HEIGHT;
             }
         }
-        if (params.containsKey(VIEW_PARAMS_SELECTED_DAY)) {
-            mSelectedDay = params.get(VIEW_PARAMS_SELECTED_DAY);
-        }
+        final int selectedDay = params.containsKey(VIEW_PARAMS_SELECTED_DAY)
+                ? params.get(VIEW_PARAMS_SELECTED_DAY) : mSelectedDay;
+        final int weekStart = params.containsKey(VIEW_PARAMS_WEEK_START)
+                ? params.get(VIEW_PARAMS_WEEK_START) : mCalendar.getFirstDayOfWeek();
+
+        setMonthParams(params.get(VIEW_PARAMS_YEAR), params.get(VIEW_PARAMS_MONTH), selectedDay,
+                weekStart);
+    }
+
+    /**
+     * Sets all the parameters for displaying this month, see
+     * {@link #setMonthParams(int, int, int, int)}.
+     */
+    public void setMonthParams(MonthParams params) {
+        setMonthParams(params.year, params.month, params.selectedDay, params.weekStart);
+    }
+
+    /**
+     * Sets all the parameters for displaying this month.
+     *
+     * @param year        The year
+     * @param month       The month, 0-11
+     * @param selectedDay The selected day of the month, or -1 if none is selected
+     * @param weekStart   The first day of the week, {@link Calendar#SUNDAY} through
+     *                    {@link Calendar#SATURDAY}
+     */
+    public void setMonthParams(int year, int month, int selectedDay, int weekStart) {
+        mSelectedDay = selectedDay;
 
         // Allocate space for caching the day numbers and focus values
-        mMonth = params.get(VIEW_PARAMS_MONTH);
-        mYear = params.get(VIEW_PARAMS_YEAR);
+        mMonth = month;
+        mYear = year;
 
         // Figure out what day today is
-        //final Time today = new Time(Time.getCurrentTimezone());
-        //today.setToNow();
-        final Calendar today = Calendar.getInstance();
-        mHasToday = false;
-        mToday = -1;
-
-        mCalendar.set(Calendar.MONTH, mMonth);
-        mCalendar.set(Calendar.YEAR, mYear);
-        mCalendar.set(Calendar.DAY_OF_MONTH, 1);
-        mDayOfWeekStart = mCalendar.get(Calendar.DAY_OF_WEEK);
-
-        if (params.containsKey(VIEW_PARAMS_WEEK_START)) {
-            mWeekStart = params.get(VIEW_PARAMS_WEEK_START);
+        mToday = TodayProvider.getInstance().getDayOfMonthIn(mYear, mMonth);
+        mHasToday = mToday != -1;
+
+        mWeekStart = weekStart;
+
+        final MonthLayoutTable layoutTable = mController != null
+                ? mController.getMonthLayoutTable() : null;
+        if (layoutTable != null && mNumDays == DEFAULT_NUM_DAYS
+                && layoutTable.contains(mYear, mWeekStart)) {
+            mDayOffset = layoutTable.getDayOffset(mYear, mMonth);
+            mNumCells = layoutTable.getDaysInMonth(mYear, mMonth);
+            mNumRows = layoutTable.getNumRows(mYear, mMonth);
         } else {
-            mWeekStart = mCalendar.getFirstDayOfWeek();
+            mDayOffset = MonthGrid.findDayOffset(
+                    EpochDay.getDayOfWeek(EpochDay.of(mYear, mMonth, 1)), mWeekStart, mNumDays);
+            mNumCells = EpochDay.getDaysInMonth(mYear, mMonth);
+            mNumRows = MonthGrid.calculateNumRows(mDayOffset, mNumCells, mNumDays);
         }
 
-        mNumCells = mCalendar.getActualMaximum(Calendar.DAY_OF_MONTH);
-        for (int i = 0; i < mNumCells; i++) {
-            final int day = i + 1;
-            if (sameDay(day, today)) {
-                mHasToday = true;
-                mToday = day;
-            }
+        if (mController != null && mController.isMonthTitlePrefetchEnabled()) {
+            MonthLabels.prefetchMonthTitles(getContext(), mYear, mMonth);
         }
-        mNumRows = calculateNumRows();
 
         // Invalidate cached accessibility information.
         mTouchHelper.invalidateRoot();
@@ -408,19 +600,6 @@ public abstract class MonthView extends View {
         requestLayout();
     }
 
-    private int calculateNumRows() {
-        int offset = findDayOffset();
-        int dividend = (offset + mNumCells) / mNumDays;
-        int remainder = (offset + mNumCells) % mNumDays;
-        return (dividend + (remainder > 0 ? 1 : 0));
-    }
-
-    private boolean sameDay(int day, Calendar today) {
-        return mYear == today.get(Calendar.YEAR) &&
-                mMonth == today.get(Calendar.MONTH) &&
-                day == today.get(Calendar.DAY_OF_MONTH);
-    }
-
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
         setMeasuredDimension(MeasureSpec.getSize(widthMeasureSpec), mRowHeight * mNumRows
@@ -451,11 +630,7 @@ public abstract class MonthView extends View {
     }
 
     private String getMonthAndYearString() {
-        int flags = DateUtils.FORMAT_SHOW_DATE | DateUtils.FORMAT_SHOW_YEAR
-                | DateUtils.FORMAT_NO_MONTH_DAY;
-        mStringBuilder.setLength(0);
-        long millis = mCalendar.getTimeInMillis();
-        return DateUtils.formatDateRange(getContext(), mFormatter, millis, millis, flags, null).toString();
+        return MonthLabels.getMonthTitle(getContext(), mYear, mMonth);
     }
 
     protected void drawMonthTitle(Canvas canvas) {
@@ -471,29 +646,8 @@ public abstract class MonthView extends View {
         for (int i = 0; i < mNumDays; i++) {
             int x = (2 * i + 1) * dayWidthHalf + mEdgePadding;
 
-            int calendarDay = (i + mWeekStart) % mNumDays;
-            mDayLabelCalendar.set(Calendar.DAY_OF_WEEK, calendarDay);
-            Locale locale = Locale.getDefault();
-            String localWeekDisplayName = mDayLabelCalendar.getDisplayName(Calendar.DAY_OF_WEEK, Calendar.SHORT, locale);
-            String weekString = localWeekDisplayName.toUpperCase(locale).substring(0, 1);
-
-            if (locale.equals(Locale.CHINA) || locale.equals(Locale.CHINESE) || locale.equals(Locale.SIMPLIFIED_CHINESE) || locale.equals(Locale.TRADITIONAL_CHINESE)) {
-                int len = localWeekDisplayName.length();
-                weekString = localWeekDisplayName.substring(len -1, len);
-            }
-
-            if (locale.getLanguage().equals("he") || locale.getLanguage().equals("iw")) {
-                if(mDayLabelCalendar.get(Calendar.DAY_OF_WEEK) != Calendar.SATURDAY) {
-                    int len = localWeekDisplayName.length();
-                    weekString = localWeekDisplayName.substring(len - 2, len - 1);
-                }
-                else {
-                    // I know this is duplication, but it makes the code easier to grok by
-                    // having all hebrew code in the same block
-                    weekString = localWeekDisplayName.toUpperCase(locale).substring(0, 1);
-                }
-            }
-            canvas.drawText(weekString, x, y, mMonthDayLabelPaint);
+            int dayOfWeek = (i + mWeekStart - 1) % mNumDays + 1;
+            canvas.drawText(MonthLabels.getWeekdayLabel(dayOfWeek), x, y, mMonthDayLabelPaint);
         }
     }
 
@@ -504,6 +658,22 @@ public abstract class MonthView extends View {
      * @param canvas The canvas to draw on
      */
     protected void drawMonthNums(Canvas canvas) {
+        drawMonthNums(canvas, ALL_DAYS);
+    }
+
+    /**
+     * @param days A mask with bit n set if day n should be drawn
+     */
+    private void drawMonthNums(Canvas canvas, int days) {
+        PickerTrace.beginSection("MonthView.drawMonthNums");
+        try {
+            drawDays(canvas, days);
+        } finally {
+            PickerTrace.endSection();
+        }
+    }
+
+    private void drawDays(Canvas canvas, int days) {
         int y = (((mRowHeight + MINI_DAY_NUMBER_TEXT_SIZE) / 2) - DAY_SEPARATOR_WIDTH)
                 + getMonthHeaderSize();
         final float dayWidthHalf = (mWidth - mEdgePadding * 2) / (mNumDays * 2.0f);
@@ -515,10 +685,12 @@ public abstract class MonthView extends View {
 
             final int startX = (int)(x - dayWidthHalf);
             final int stopX = (int)(x + dayWidthHalf);
-            final int startY = (int)(y - yRelativeToDay);
-            final int stopY = (int)(startY + mRowHeight);
+            final int startY = y - yRelativeToDay;
+            final int stopY = startY + mRowHeight;
 
-            drawMonthDay(canvas, mYear, mMonth, dayNumber, x, y, startX, stopX, startY, stopY);
+            if ((days & (1 << dayNumber)) != 0) {
+                drawMonthDay(canvas, mYear, mMonth, dayNumber, x, y, startX, stopX, startY, stopY);
+            }
 
             j++;
             if (j == mNumDays) {
@@ -546,8 +718,7 @@ public abstract class MonthView extends View {
             int x, int y, int startX, int stopX, int startY, int stopY);
 
     protected int findDayOffset() {
-        return (mDayOfWeekStart < mWeekStart ? (mDayOfWeekStart + mNumDays) : mDayOfWeekStart)
-                - mWeekStart;
+        return mDayOffset;
     }
 
 
@@ -616,89 +787,36 @@ public abstract class MonthView extends View {
      * Integer.MAX_VALUE.
      */
     protected boolean isOutOfRange(int year, int month, int day) {
-        if (mController.getSelectableDays() != null) {
-            return !isSelectable(year, month, day);
+        if (mRecordingStaticLayer) {
+            return false;
+        }
+        final int epochDay = EpochDay.of(year, month, day);
+        if (mController.hasSelectableDays()) {
+            return !mController.isSelectableDay(epochDay);
         }
 
-        if (isBeforeMin(year, month, day)) {
+        if (isBeforeMin(epochDay)) {
             return true;
         }
-        else if (isAfterMax(year, month, day)) {
+        else if (isAfterMax(epochDay)) {
             return true;
         }
 
         return false;
     }
 
-    private boolean isSelectable(int year, int month, int day) {
-        Calendar[] selectableDays = mController.getSelectableDays();
-        for (Calendar c : selectableDays) {
-            if(year < c.get(Calendar.YEAR)) break;
-            if(year > c.get(Calendar.YEAR)) continue;
-            if(month < c.get(Calendar.MONTH)) break;
-            if(month > c.get(Calendar.MONTH)) continue;
-            if(day < c.get(Calendar.DAY_OF_MONTH)) break;
-            if(day > c.get(Calendar.DAY_OF_MONTH)) continue;
-            return true;
-        }
-        return false;
-    }
-
-    private boolean isBeforeMin(int year, int month, int day) {
+    private boolean isBeforeMin(int epochDay) {
         if (mController == null) {
             return false;
         }
-//        Calendar minDate = mController.getMinDate();
-        Calendar minDate = mController.getMinSelectableDate();
-        if (minDate == null) {
-            return false;
-        }
-
-        if (year < minDate.get(Calendar.YEAR)) {
-            return true;
-        } else if (year > minDate.get(Calendar.YEAR)) {
-            return false;
-        }
-
-        if (month < minDate.get(Calendar.MONTH)) {
-            return true;
-        } else if (month > minDate.get(Calendar.MONTH)) {
-            return false;
-        }
-
-        if (day < minDate.get(Calendar.DAY_OF_MONTH)) {
-            return true;
-        } else {
-            return false;
-        }
+        return epochDay < mController.getMinSelectableEpochDay();
     }
 
-    private boolean isAfterMax(int year, int month, int day) {
+    private boolean isAfterMax(int epochDay) {
         if (mController == null) {
             return false;
         }
-        Calendar maxDate = mController.getMaxDate();
-        if (maxDate == null) {
-            return false;
-        }
-
-        if (year > maxDate.get(Calendar.YEAR)) {
-            return true;
-        } else if (year < maxDate.get(Calendar.YEAR)) {
-            return false;
-        }
-
-        if (month > maxDate.get(Calendar.MONTH)) {
-            return true;
-        } else if (month < maxDate.get(Calendar.MONTH)) {
-            return false;
-        }
-
-        if (day > maxDate.get(Calendar.DAY_OF_MONTH)) {
-            return true;
-        } else {
-            return false;
-        }
+        return epochDay > mController.getMaxEpochDay();
     }
 
     /**
@@ -708,18 +826,9 @@ public abstract class MonthView extends View {
      * @return true if the given date should be highlighted
      */
     protected boolean isHighlighted(int year, int month, int day) {
-        Calendar[] highlightedDays = mController.getHighlightedDays();
-        if(highlightedDays == null) return false;
-        for (Calendar c : highlightedDays) {
-            if(year < c.get(Calendar.YEAR)) break;
-            if(year > c.get(Calendar.YEAR)) continue;
-            if(month < c.get(Calendar.MONTH)) break;
-            if(month > c.get(Calendar.MONTH)) continue;
-            if(day < c.get(Calendar.DAY_OF_MONTH)) break;
-            if(day > c.get(Calendar.DAY_OF_MONTH)) continue;
-            return true;
-        }
-        return false;
+        final int highlightedDaysMask = year == mYear && month == mMonth
+                ? mHighlightedDaysMask : mController.getHighlightedDaysInMonth(year, month);
+        return (highlightedDaysMask & (1 << day)) != 0;
     }
 
     /**
@@ -875,6 +984,100 @@ public abstract class MonthView extends View {
         }
     }
 
+    /**
+     * The parameters of a month, kept in a plain object that can be filled and passed to
+     * {@link #setMonthParams(MonthParams)} on every bind without allocating.
+     */
+    public static class MonthParams {
+        public int year;
+        public int month;
+        public int selectedDay = DEFAULT_SELECTED_DAY;
+        public int weekStart = DEFAULT_WEEK_START;
+
+        public MonthParams set(int year, int month, int selectedDay, int weekStart) {
+            this.year = year;
+            this.month = month;
+            this.selectedDay = selectedDay;
+            this.weekStart = weekStart;
+            return this;
+        }
+    }
+
+    /**
+     * Identifies the static layer of a month in the render cache. Everything the recorded title,
+     * labels and plain day numbers depend on is part of the key, nothing about the selection is.
+     */
+    private static class RenderCacheKey {
+        int year;
+        int month;
+        int width;
+        int rowHeight;
+        int edgePadding;
+        int weekStart;
+        int numDays;
+        int today;
+        int textColor;
+        int labelTextColor;
+        int todayTextColor;
+        int highlightedTextColor;
+        int disabledTextColor;
+        Locale locale;
+
+        RenderCacheKey() {
+        }
+
+        RenderCacheKey(RenderCacheKey other) {
+            year = other.year;
+            month = other.month;
+            width = other.width;
+            rowHeight = other.rowHeight;
+            edgePadding = other.edgePadding;
+            weekStart = other.weekStart;
+            numDays = other.numDays;
+            today = other.today;
+            textColor = other.textColor;
+            labelTextColor = other.labelTextColor;
+            todayTextColor = other.todayTextColor;
+            highlightedTextColor = other.highlightedTextColor;
+            disabledTextColor = other.disabledTextColor;
+            locale = other.locale;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof RenderCacheKey)) {
+                return false;
+            }
+            RenderCacheKey other = (RenderCacheKey) o;
+            return year == other.year && month == other.month && width == other.width
+                    && rowHeight == other.rowHeight && edgePadding == other.edgePadding
+                    && weekStart == other.weekStart && numDays == other.numDays
+                    && today == other.today && textColor == other.textColor
+                    && labelTextColor == other.labelTextColor
+                    && todayTextColor == other.todayTextColor
+                    && highlightedTextColor == other.highlightedTextColor
+                    && disabledTextColor == other.disabledTextColor
+                    && locale.equals(other.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = year * 12 + month;
+            result = 31 * result + width;
+            result = 31 * result + rowHeight;
+            result = 31 * result + edgePadding;
+            result = 31 * result + weekStart;
+            result = 31 * result + numDays;
+            result = 31 * result + today;
+            result = 31 * result + textColor;
+            result = 31 * result + labelTextColor;
+            result = 31 * result + todayTextColor;
+            result = 31 * result + highlightedTextColor;
+            result = 31 * result + disabledTextColor;
+            return 31 * result + locale.hashCode();
+        }
+    }
+
     /**
      * Handles callbacks when the user clicks on a time object.
      */
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.leavjenn.smoothdaterangepicker.date;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+/**
+ * Epoch days put into saved state. The days are only encoded with {@link EpochDayCodec} when the
+ * state is actually written to a parcel, so a configuration change in the same process keeps the
+ * array as it is. Public only because the framework reads the creator by reflection.
+ */
+public final class PackedEpochDays implements Parcelable {
+
+    private final int[] mEpochDays;
+
+    private PackedEpochDays(int[] epochDays) {
+        mEpochDays = epochDays;
+    }
+
+    /**
+     * @param epochDays Epoch days in ascending order, not copied
+     * @return The days to put into a bundle, or null if epochDays is null
+     */
+    static PackedEpochDays of(int[] epochDays) {
+        return epochDays != null ? new PackedEpochDays(epochDays) : null;
+    }
+
+    /**
+     * @return The days of the given packed days, or null if packed is null
+     */
+    static int[] getEpochDays(PackedEpochDays packed) {
+        return packed != null ? packed.mEpochDays : null;
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeByteArray(EpochDayCodec.encode(mEpochDays));
+    }
+
+    public static final Parcelable.Creator<PackedEpochDays> CREATOR =
+            new Parcelable.Creator<PackedEpochDays>() {
+                @Override
+                public PackedEpochDays createFromParcel(Parcel source) {
+                    return new PackedEpochDays(EpochDayCodec.decode(source.createByteArray()));
+                }
+
+                @Override
+                public PackedEpochDays[] newArray(int size) {
+                    return new PackedEpochDays[size];
+                }
+            };
+}
@@ -0,0 +1,413 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.leavjenn.smoothdaterangepicker.date;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.graphics.PointF;
+import android.os.Build;
+import android.os.Bundle;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.LinearSmoothScroller;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.accessibility.AccessibilityEvent;
+import android.view.accessibility.AccessibilityNodeInfo;
+
+import com.leavjenn.smoothdaterangepicker.Utils;
+import com.leavjenn.smoothdaterangepicker.date.SmoothDateRangePickerFragment.OnDateChangedListener;
+
+/**
+ * Displays a list of months in a calendar format with selectable days, like
+ * {@link DayPickerView}, on top of a RecyclerView. Selection changes redraw the bound months
+ * without binding them again, and scrolling binds the next month before it comes into view.
+ */
+public class RecyclerDayPickerView extends RecyclerView implements DayPicker,
+        OnDateChangedListener {
+
+    private final SmoothDateRangePickerController mController;
+    private final MonthLayoutManager mLayoutManager;
+    private final MonthRecyclerAdapter mAdapter;
+
+    // highlighted time
+    private final MonthAdapter.CalendarDay mSelectedDay = new MonthAdapter.CalendarDay();
+
+    private int mPreviousScrollState = SCROLL_STATE_IDLE;
+    // Whether the list is settling after the user lifted a finger mid drag
+    private boolean mFlinging;
+    private boolean mPerformingScroll;
+    // Only created once a fling starts while a metrics listener is set
+    private FlingFrameCounter mFlingFrameCounter;
+
+    public RecyclerDayPickerView(Context context, SmoothDateRangePickerController controller) {
+        super(context);
+        mController = controller;
+        setLayoutParams(new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+                ViewGroup.LayoutParams.MATCH_PARENT));
+        setVerticalScrollBarEnabled(false);
+        setFadingEdgeLength(0);
+        setHasFixedSize(true);
+
+        mLayoutManager = new MonthLayoutManager(context);
+        setLayoutManager(mLayoutManager);
+        mAdapter = createMonthAdapter(context, controller);
+        setAdapter(mAdapter);
+        addOnScrollListener(new SnapToMonthListener());
+
+        mController.registerOnDateChangedListener(this);
+        onDateChanged();
+    }
+
+    /**
+     * Creates the adapter of this list. Override this method to provide a custom adapter.
+     */
+    protected MonthRecyclerAdapter createMonthAdapter(Context context,
+            SmoothDateRangePickerController controller) {
+        return new MonthRecyclerAdapter(context, controller);
+    }
+
+    @Override
+    public void onChange() {
+        mAdapter.notifyMonthsChanged();
+    }
+
+    @Override
+    public void onDateChanged() {
+        goTo(mController.getSelectedDay(), false, true, true);
+    }
+
+    @Override
+    public void onDateChanged(DateChangeEvent event) {
+        if (!event.hasChanges()) {
+            return;
+        }
+        if (isShown()) {
+            onDateChanged();
+        } else {
+            // Only redraws the months whose days changed. The list is scrolled to the selected
+            // day by onDateChanged() once it is shown.
+            mSelectedDay.set(mController.getSelectedDay());
+            mAdapter.setSelectedDay(mSelectedDay);
+        }
+    }
+
+    /**
+     * This moves to the specified time in the view. See
+     * {@link DayPickerView#goTo(MonthAdapter.CalendarDay, boolean, boolean, boolean)}.
+     *
+     * @return Whether or not the view animated to the new location
+     */
+    public boolean goTo(MonthAdapter.CalendarDay day, boolean animate, boolean setSelected,
+            boolean forceScroll) {
+        if (setSelected) {
+            mSelectedDay.set(day);
+            mAdapter.setSelectedDay(mSelectedDay);
+        }
+
+        final int position = (day.year - mController.getMinSelectableYear())
+                * MonthAdapter.MONTHS_IN_YEAR + day.month;
+        if (position != getFirstFullyVisiblePosition() || forceScroll) {
+            if (animate) {
+                smoothScrollToPosition(position);
+                return true;
+            } else if (!isAtTop(position)) {
+                postSetSelection(position);
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void postSetSelection(int position) {
+        clearFocus();
+        mLayoutManager.scrollToPositionWithOffset(position, 0);
+    }
+
+    @Override
+    public int getMostVisiblePosition() {
+        final int height = getHeight();
+
+        int maxDisplayedHeight = 0;
+        View mostVisibleChild = null;
+        for (int i = 0; i < getChildCount(); i++) {
+            final View child = getChildAt(i);
+            final int displayedHeight = Math.min(child.getBottom(), height)
+                    - Math.max(0, child.getTop());
+            if (displayedHeight > maxDisplayedHeight) {
+                mostVisibleChild = child;
+                maxDisplayedHeight = displayedHeight;
+            }
+        }
+        return mostVisibleChild != null ? getChildAdapterPosition(mostVisibleChild) : 0;
+    }
+
+    @Override
+    public void setAccentColor(int accentColor) {
+        mAdapter.setAccentColor(accentColor);
+    }
+
+    private boolean isAtTop(int position) {
+        final View child = getChildAt(0);
+        return child != null && getChildAdapterPosition(child) == position
+                && child.getTop() == getPaddingTop();
+    }
+
+    private int getFirstFullyVisiblePosition() {
+        for (int i = 0; i < getChildCount(); i++) {
+            final View child = getChildAt(i);
+            if (child.getTop() >= 0) {
+                return getChildAdapterPosition(child);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Counts the frames of a fling for the metrics listener, if one is set.
+     */
+    private void countFlingFrames(boolean flinging) {
+        // Choreographer is only available since Jelly Bean
+        if (Build.VERSION.SDK_INT < 16) {
+            return;
+        }
+        final SmoothDateRangePickerFragment.PickerMetricsListener metrics =
+                mController.getMetricsListener();
+        if (flinging) {
+            if (metrics == null) {
+                return;
+            }
+            if (mFlingFrameCounter == null) {
+                mFlingFrameCounter = new FlingFrameCounter(getContext());
+            }
+            mFlingFrameCounter.start();
+        } else if (mFlingFrameCounter != null) {
+            mFlingFrameCounter.stop(metrics);
+        }
+    }
+
+    /**
+     * Attempts to return the date that has accessibility focus.
+     *
+     * @return The date that has accessibility focus, or {@code null} if no date
+     *         has focus.
+     */
+    private MonthAdapter.CalendarDay findAccessibilityFocus() {
+        final int childCount = getChildCount();
+        for (int i = 0; i < childCount; i++) {
+            final View child = getChildAt(i);
+            if (child instanceof MonthView) {
+                final MonthAdapter.CalendarDay focus = ((MonthView) child).getAccessibilityFocus();
+                if (focus != null) {
+                    return focus;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Attempts to restore accessibility focus to a given date. No-op if
+     * {@code day} is {@code null}.
+     *
+     * @param day The date that should receive accessibility focus
+     * @return {@code true} if focus was restored
+     */
+    private boolean restoreAccessibilityFocus(MonthAdapter.CalendarDay day) {
+        if (day == null) {
+            return false;
+        }
+
+        final int childCount = getChildCount();
+        for (int i = 0; i < childCount; i++) {
+            final View child = getChildAt(i);
+            if (child instanceof MonthView) {
+                if (((MonthView) child).restoreAccessibilityFocus(day)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        final MonthAdapter.CalendarDay focusedDay = findAccessibilityFocus();
+        super.onLayout(changed, l, t, r, b);
+        if (mPerformingScroll) {
+            mPerformingScroll = false;
+        } else {
+            restoreAccessibilityFocus(focusedDay);
+        }
+    }
+
+    @Override
+    public void onInitializeAccessibilityEvent(@NonNull AccessibilityEvent event) {
+        super.onInitializeAccessibilityEvent(event);
+        event.setItemCount(-1);
+    }
+
+    /**
+     * Necessary for accessibility, to ensure we support "scrolling" forward and backward
+     * in the month list.
+     */
+    @Override
+    @SuppressWarnings("deprecation")
+    public void onInitializeAccessibilityNodeInfo(@NonNull AccessibilityNodeInfo info) {
+        super.onInitializeAccessibilityNodeInfo(info);
+        if (Build.VERSION.SDK_INT >= 21) {
+            info.addAction(AccessibilityNodeInfo.AccessibilityAction.ACTION_SCROLL_BACKWARD);
+            info.addAction(AccessibilityNodeInfo.AccessibilityAction.ACTION_SCROLL_FORWARD);
+        } else {
+            info.addAction(AccessibilityNodeInfo.ACTION_SCROLL_FORWARD);
+            info.addAction(AccessibilityNodeInfo.ACTION_SCROLL_BACKWARD);
+        }
+    }
+
+    /**
+     * When scroll forward/backward events are received, scroll by one month and announce the
+     * newly scrolled-to month, as {@link DayPickerView} does.
+     */
+    @SuppressLint("NewApi")
+    @Override
+    public boolean performAccessibilityAction(int action, Bundle arguments) {
+        if (action != AccessibilityNodeInfo.ACTION_SCROLL_FORWARD &&
+                action != AccessibilityNodeInfo.ACTION_SCROLL_BACKWARD) {
+            return super.performAccessibilityAction(action, arguments);
+        }
+
+        // Figure out what month is showing.
+        final int firstVisiblePosition = Math.max(mLayoutManager.findFirstVisibleItemPosition(), 0);
+        MonthAdapter.CalendarDay day = new MonthAdapter.CalendarDay(
+                firstVisiblePosition / MonthAdapter.MONTHS_IN_YEAR
+                        + mController.getMinSelectableYear(),
+                firstVisiblePosition % MonthAdapter.MONTHS_IN_YEAR, 1);
+
+        // Scroll either forward or backward one month.
+        if (action == AccessibilityNodeInfo.ACTION_SCROLL_FORWARD) {
+            day.month++;
+            if (day.month == 12) {
+                day.month = 0;
+                day.year++;
+            }
+        } else {
+            final View firstVisibleView = getChildAt(0);
+            // If the month is fully visible, jump one month back. Otherwise, we'll just jump
+            // to the first day of first visible month.
+            if (firstVisibleView != null && firstVisibleView.getTop() >= getPaddingTop()) {
+                day.month--;
+                if (day.month == -1) {
+                    day.month = 11;
+                    day.year--;
+                }
+            }
+        }
+
+        // Go to that month.
+        Utils.tryAccessibilityAnnounce(this,
+                MonthLabels.getMonthTitle(getContext(), day.year, day.month));
+        goTo(day, true, false, true);
+        mPerformingScroll = true;
+        return true;
+    }
+
+    /**
+     * Moves the closest month to the top of the list once a fling ends.
+     */
+    private class SnapToMonthListener extends OnScrollListener {
+        @Override
+        public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+            final boolean wasFlinging = mFlinging;
+            // Smooth scrolls and snaps settle without a drag, only a settle after a drag is a fling
+            mFlinging = newState == SCROLL_STATE_SETTLING
+                    && mPreviousScrollState == SCROLL_STATE_DRAGGING;
+            mPreviousScrollState = newState;
+            if (mFlinging != wasFlinging) {
+                countFlingFrames(mFlinging);
+            }
+            if (!wasFlinging || newState != SCROLL_STATE_IDLE) {
+                return;
+            }
+            int i = 0;
+            View child = getChildAt(i);
+            while (child != null && child.getBottom() <= 0) {
+                child = getChildAt(++i);
+            }
+            if (child == null) {
+                return;
+            }
+            final int firstPosition = mLayoutManager.findFirstVisibleItemPosition();
+            final int lastPosition = mLayoutManager.findLastVisibleItemPosition();
+            final boolean scroll = firstPosition != 0
+                    && lastPosition != mAdapter.getItemCount() - 1;
+            final int top = child.getTop();
+            final int bottom = child.getBottom();
+            if (scroll && top < DayPickerView.LIST_TOP_OFFSET) {
+                smoothScrollBy(0, bottom > getHeight() / 2 ? top : bottom);
+            }
+        }
+    }
+
+    /**
+     * Scrolls months to the top of the list, and lays out one month past the visible ones while
+     * scrolling so it is bound before it scrolls into view.
+     */
+    private static class MonthLayoutManager extends LinearLayoutManager {
+        private final Context mContext;
+        private int mScrollState = SCROLL_STATE_IDLE;
+
+        MonthLayoutManager(Context context) {
+            super(context);
+            mContext = context;
+        }
+
+        @Override
+        public void onScrollStateChanged(int state) {
+            mScrollState = state;
+        }
+
+        @Override
+        protected int getExtraLayoutSpace(State state) {
+            final int extra = super.getExtraLayoutSpace(state);
+            if (mScrollState == SCROLL_STATE_IDLE || getChildCount() == 0) {
+                return extra;
+            }
+            // One month, not a whole screen, so a scroll binds at most one month ahead
+            return Math.max(extra, getChildAt(0).getHeight());
+        }
+
+        @Override
+        public void smoothScrollToPosition(RecyclerView recyclerView, State state,
+                int position) {
+            LinearSmoothScroller scroller = new LinearSmoothScroller(mContext) {
+                @Override
+                public PointF computeScrollVectorForPosition(int targetPosition) {
+                    return MonthLayoutManager.this.computeScrollVectorForPosition(targetPosition);
+                }
+
+                @Override
+                protected int getVerticalSnapPreference() {
+                    return SNAP_TO_START;
+                }
+            };
+            scroller.setTargetPosition(position);
+            startSmoothScroll(scroller);
+        }
+    }
+}
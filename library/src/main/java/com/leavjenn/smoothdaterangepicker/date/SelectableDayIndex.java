@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.leavjenn.smoothdaterangepicker.date;
+
+import java.util.Arrays;
+
+/**
+ * An immutable set of selectable days stored as runs of consecutive epoch days. Whitelists of
+ * bookable dates are mostly made of long runs, so membership is a binary search over a handful
+ * of runs instead of a scan over every day. The first and last day and the years containing a
+ * selectable day are answered in constant time.
+ */
+final class SelectableDayIndex {
+
+    // First and last epoch day of every run, in ascending order
+    private final int[] mRunStarts;
+    private final int[] mRunEnds;
+    private final int mFirstYear;
+    // Bit n is set if year mFirstYear + n contains a selectable day
+    private final long[] mYears;
+
+    private SelectableDayIndex(int[] runStarts, int[] runEnds, int firstYear, long[] years) {
+        mRunStarts = runStarts;
+        mRunEnds = runEnds;
+        mFirstYear = firstYear;
+        mYears = years;
+    }
+
+    /**
+     * @param epochDays Epoch days, may contain duplicates. Days in ascending order are indexed
+     *                  without being copied.
+     * @return An index of the given days, or null if epochDays is null
+     */
+    static SelectableDayIndex of(int[] epochDays) {
+        if (epochDays == null) {
+            return null;
+        }
+        final int[] sortedEpochDays = EpochDay.sorted(epochDays);
+        int[] runStarts = new int[sortedEpochDays.length];
+        int[] runEnds = new int[sortedEpochDays.length];
+        int runCount = 0;
+        for (int epochDay : sortedEpochDays) {
+            if (runCount > 0 && epochDay <= runEnds[runCount - 1] + 1) {
+                runEnds[runCount - 1] = Math.max(runEnds[runCount - 1], epochDay);
+            } else {
+                runStarts[runCount] = epochDay;
+                runEnds[runCount] = epochDay;
+                runCount++;
+            }
+        }
+        runStarts = Arrays.copyOf(runStarts, runCount);
+        runEnds = Arrays.copyOf(runEnds, runCount);
+
+        if (runCount == 0) {
+            return new SelectableDayIndex(runStarts, runEnds, 0, new long[0]);
+        }
+        final int firstYear = EpochDay.getYear(runStarts[0]);
+        final int lastYear = EpochDay.getYear(runEnds[runCount - 1]);
+        long[] years = new long[(lastYear - firstYear) / 64 + 1];
+        for (int i = 0; i < runCount; i++) {
+            final int runLastYear = EpochDay.getYear(runEnds[i]);
+            for (int year = EpochDay.getYear(runStarts[i]); year <= runLastYear; year++) {
+                years[(year - firstYear) / 64] |= 1L << ((year - firstYear) % 64);
+            }
+        }
+        return new SelectableDayIndex(runStarts, runEnds, firstYear, years);
+    }
+
+    boolean isEmpty() {
+        return mRunStarts.length == 0;
+    }
+
+    boolean contains(int epochDay) {
+        int i = Arrays.binarySearch(mRunStarts, epochDay);
+        if (i >= 0) {
+            return true;
+        }
+        // The run starting right before the day is the only one that can contain it
+        i = -i - 2;
+        return i >= 0 && epochDay <= mRunEnds[i];
+    }
+
+    /**
+     * @return The first selectable epoch day. Must not be called on an empty index.
+     */
+    int getFirstDay() {
+        return mRunStarts[0];
+    }
+
+    /**
+     * @return The last selectable epoch day. Must not be called on an empty index.
+     */
+    int getLastDay() {
+        return mRunEnds[mRunEnds.length - 1];
+    }
+
+    boolean hasDayInYear(int year) {
+        final int offset = year - mFirstYear;
+        if (isEmpty() || offset < 0 || offset >= mYears.length * 64) {
+            return false;
+        }
+        return (mYears[offset / 64] & (1L << (offset % 64))) != 0;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.leavjenn.smoothdaterangepicker.date;
+
+/**
+ * Remembers the selection a list of months was last updated with, and reports the spans of days
+ * whose appearance changed since then. Only the months overlapping those spans need to be
+ * redrawn.
+ */
+final class SelectionDiff {
+
+    interface OnDaysChangedListener {
+        /**
+         * @param firstEpochDay The first day that may look different
+         * @param lastEpochDay  The last day that may look different, inclusive
+         */
+        void onDaysChanged(int firstEpochDay, int lastEpochDay);
+    }
+
+    private boolean mHasState;
+    private int mSelectedDay;
+    private int mStart;
+    private int mEnd;
+    private int mMinSelectable;
+    private boolean mRangeHighlighted;
+
+    /**
+     * Compares the current selection of the controller with the remembered one, reports the
+     * changed days to the listener and remembers the current selection.
+     *
+     * @param selectedEpochDay The day drawn as selected by the list
+     * @param listener         Notified of every changed span, or null to only remember the
+     *                         current selection
+     */
+    void update(SmoothDateRangePickerController controller, int selectedEpochDay,
+            OnDaysChangedListener listener) {
+        final int start = controller.getStartEpochDay();
+        final int end = controller.getEndEpochDay();
+        final int minSelectable = controller.getMinSelectableEpochDay();
+        final boolean rangeHighlighted = controller.isRangeHighlighted();
+
+        if (mHasState && listener != null) {
+            if (rangeHighlighted != mRangeHighlighted) {
+                // The whole range appeared or disappeared
+                listener.onDaysChanged(Math.min(start, mStart), Math.max(end, mEnd));
+            }
+            // Days between the old and new bounds entered or left the range, and days between
+            // the old and new minimum became selectable or not
+            reportSpan(listener, mStart, start);
+            reportSpan(listener, mEnd, end);
+            reportSpan(listener, mMinSelectable, minSelectable);
+            if (selectedEpochDay != mSelectedDay) {
+                listener.onDaysChanged(mSelectedDay, mSelectedDay);
+                listener.onDaysChanged(selectedEpochDay, selectedEpochDay);
+            }
+        }
+
+        mSelectedDay = selectedEpochDay;
+        mStart = start;
+        mEnd = end;
+        mMinSelectable = minSelectable;
+        mRangeHighlighted = rangeHighlighted;
+        mHasState = true;
+    }
+
+    private static void reportSpan(OnDaysChangedListener listener, int oldDay, int newDay) {
+        if (oldDay != newDay) {
+            listener.onDaysChanged(Math.min(oldDay, newDay), Math.max(oldDay, newDay));
+        }
+    }
+}
@@ -17,7 +17,7 @@
 package com.leavjenn.smoothdaterangepicker.date;
 import android.content.Context;
 import android.graphics.Canvas;
-import android.graphics.Typeface;
+import android.graphics.Paint;
 import android.util.AttributeSet;
 
 public class SimpleMonthView extends MonthView {
@@ -34,26 +34,23 @@ public class SimpleMonthView extends MonthView {
                     mSelectedCirclePaint);
         }
 
-        if(isHighlighted(year, month, day)) {
-            mMonthNumPaint.setTypeface(Typeface.create(Typeface.DEFAULT, Typeface.BOLD));
-        }
-        else {
-            mMonthNumPaint.setTypeface(Typeface.create(Typeface.DEFAULT, Typeface.NORMAL));
-        }
+        final boolean highlighted = isHighlighted(year, month, day);
+        final boolean outOfRange = isOutOfRange(year, month, day);
+        final Paint paint = highlighted || (!outOfRange && mSelectedDay == day)
+                ? mMonthNumBoldPaint : mMonthNumPaint;
 
         // If we have a mindate or maxdate, gray out the day number if it's outside the range.
-        if (isOutOfRange(year, month, day)) {
-            mMonthNumPaint.setColor(mDisabledDayTextColor);
+        if (outOfRange) {
+            paint.setColor(mDisabledDayTextColor);
         }
         else if (mSelectedDay == day) {
-            mMonthNumPaint.setTypeface(Typeface.create(Typeface.DEFAULT, Typeface.BOLD));
-            mMonthNumPaint.setColor(mSelectedDayTextColor);
+            paint.setColor(mSelectedDayTextColor);
         } else if (mHasToday && mToday == day) {
-            mMonthNumPaint.setColor(mTodayNumberColor);
+            paint.setColor(mTodayNumberColor);
         } else {
-            mMonthNumPaint.setColor(isHighlighted(year, month, day) ? mHighlightedDayTextColor : mDayTextColor);
+            paint.setColor(highlighted ? mHighlightedDayTextColor : mDayTextColor);
         }
 
-        canvas.drawText(String.format("%d", day), x, y, mMonthNumPaint);
+        canvas.drawText(MonthLabels.getDayNumber(day), x, y, paint);
     }
 }
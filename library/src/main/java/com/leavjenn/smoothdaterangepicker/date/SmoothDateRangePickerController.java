@@ -16,8 +16,6 @@
 
 package com.leavjenn.smoothdaterangepicker.date;
 
-import java.util.Calendar;
-
 /**
  * Controller class to communicate among the various components of the date picker dialog.
  */
@@ -36,24 +34,68 @@ interface SmoothDateRangePickerController {
     MonthAdapter.CalendarDay getSelectedDay();
 
     boolean isThemeDark();
-    
-    Calendar[] getHighlightedDays();
 
-    Calendar[] getSelectableDays();
+    boolean isMonthRenderCacheEnabled();
+
+    boolean isMonthTitlePrefetchEnabled();
+
+    /**
+     * @return The listener to report performance metrics to, or null if none is set. Callers
+     * should skip measuring when it's null.
+     */
+    SmoothDateRangePickerFragment.PickerMetricsListener getMetricsListener();
+
+    /**
+     * @param year  The year
+     * @param month The month, 0-11
+     * @return A mask with bit n set if day n of the given month should be highlighted
+     */
+    int getHighlightedDaysInMonth(int year, int month);
+
+    /**
+     * @return true if only the days set with setSelectableDays can be selected
+     */
+    boolean hasSelectableDays();
+
+    boolean isSelectableDay(int epochDay);
+
+    /**
+     * @return false if selectable days are set and none of them is in the given year
+     */
+    boolean hasSelectableDayInYear(int year);
 
     int getFirstDayOfWeek();
 
+    /**
+     * @return The layout of the months from the min to the max year for the first day of the
+     * week, or null to lay out every month on its own
+     */
+    MonthLayoutTable getMonthLayoutTable();
+
     int getMinYear();
 
     int getMinSelectableYear();
 
     int getMaxYear();
 
-    Calendar getMinDate();
+    /**
+     * @return The first selectable epoch day, or {@link EpochDay#MIN} if there is no lower bound
+     */
+    int getMinSelectableEpochDay();
+
+    /**
+     * @return The last selectable epoch day, or {@link EpochDay#MAX} if there is no upper bound
+     */
+    int getMaxEpochDay();
+
+    int getStartEpochDay();
 
-    Calendar getMinSelectableDate();
+    int getEndEpochDay();
 
-    Calendar getMaxDate();
+    /**
+     * @return true if the days from the start to the end day are drawn as highlighted
+     */
+    boolean isRangeHighlighted();
 
     void tryVibrate();
 }
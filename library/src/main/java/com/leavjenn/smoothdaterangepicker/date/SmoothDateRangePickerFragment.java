@@ -19,10 +19,16 @@ package com.leavjenn.smoothdaterangepicker.date;
 import android.animation.ObjectAnimator;
 import android.app.Activity;
 import android.app.DialogFragment;
+import android.content.BroadcastReceiver;
+import android.content.Context;
 import android.content.DialogInterface;
+import android.content.Intent;
+import android.content.IntentFilter;
 import android.content.res.Resources;
 import android.graphics.PorterDuff;
 import android.os.Bundle;
+import android.os.Looper;
+import android.os.MessageQueue;
 import android.support.annotation.NonNull;
 import android.text.InputType;
 import android.text.format.DateUtils;
@@ -31,25 +37,27 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.View.OnClickListener;
 import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
 import android.view.Window;
 import android.view.WindowManager;
 import android.view.animation.AlphaAnimation;
 import android.view.animation.Animation;
 import android.widget.Button;
 import android.widget.EditText;
+import android.widget.FrameLayout;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 
 import com.leavjenn.smoothdaterangepicker.HapticFeedbackController;
+import com.leavjenn.smoothdaterangepicker.PickerTrace;
 import com.leavjenn.smoothdaterangepicker.R;
 import com.leavjenn.smoothdaterangepicker.TypefaceHelper;
 import com.leavjenn.smoothdaterangepicker.Utils;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Calendar;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 
@@ -67,6 +75,7 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
     private static final int MONTH_AND_DAY_VIEW_END = 2;
     private static final int YEAR_VIEW_END = 3;
     private static final int DURATION_VIEW = 4;
+    private static final int ANIMATOR_CHILD_COUNT = 5;
 
     private static final String KEY_SELECTED_YEAR = "selected_year";
     private static final String KEY_SELECTED_YEAR_END = "selected_year_end";
@@ -87,11 +96,16 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
     private static final String KEY_MIN_DATE_SELECTABLE = "min_date_end";
     private static final String KEY_MAX_DATE = "max_date";
     private static final String KEY_HIGHLIGHTED_DAYS = "highlighted_days";
+    private static final String KEY_HIGHLIGHT_RANGE = "highlight_range";
     private static final String KEY_SELECTABLE_DAYS = "selectable_days";
     private static final String KEY_THEME_DARK = "theme_dark";
     private static final String KEY_ACCENT = "accent";
     private static final String KEY_VIBRATE = "vibrate";
     private static final String KEY_DISMISS = "dismiss";
+    private static final String KEY_MONTH_RENDER_CACHE = "month_render_cache";
+    private static final String KEY_MONTH_TITLE_PREFETCH = "month_title_prefetch";
+    private static final String KEY_RECYCLER_VIEW = "recycler_view";
+    private static final String KEY_IDLE_PREWARM = "idle_prewarm";
 
     private static final int DEFAULT_START_YEAR = 1900;
     private static final int DEFAULT_END_YEAR = 2100;
@@ -102,10 +116,14 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
     private static SimpleDateFormat YEAR_FORMAT = new SimpleDateFormat("yyyy", Locale.getDefault());
     private static SimpleDateFormat DAY_FORMAT = new SimpleDateFormat("dd", Locale.getDefault());
 
+    // Only used to format the selected dates, the selection itself is kept in epoch days
     private Calendar mCalendar = Calendar.getInstance();
     private Calendar mCalendarEnd = Calendar.getInstance();
+    private int mStartEpochDay = EpochDay.of(mCalendar);
+    private int mEndEpochDay = mStartEpochDay;
     private OnDateRangeSetListener mCallBack;
-    private HashSet<OnDateChangedListener> mListeners = new HashSet<>();
+    // Copied on every change, so that a listener can be added or removed during a dispatch
+    private OnDateChangedListener[] mListeners = new OnDateChangedListener[0];
     private DialogInterface.OnCancelListener mOnCancelListener;
     private DialogInterface.OnDismissListener mOnDismissListener;
 
@@ -116,7 +134,7 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
     private TextView mSelectedMonthTextView;
     private TextView mSelectedDayTextView;
     private TextView mYearView;
-    private DayPickerView mDayPickerView;
+    private DayPicker mDayPickerView;
     private YearPickerView mYearPickerView;
 
     private TextView mDayOfWeekViewEnd;
@@ -124,7 +142,7 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
     private TextView mSelectedMonthTextViewEnd;
     private TextView mSelectedDayTextViewEnd;
     private TextView mYearViewEnd;
-    private SimpleDayPickerView mDayPickerViewEnd;
+    private DayPicker mDayPickerViewEnd;
     private YearPickerView mYearPickerViewEnd;
 
     private List<View> viewList;
@@ -143,10 +161,19 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
     private int mMinYear = DEFAULT_START_YEAR;
     private int mMaxYear = DEFAULT_END_YEAR;
     private Calendar mMinDate;
-    private Calendar mMinSelectableDate;
     private Calendar mMaxDate;
-    private Calendar[] highlightedDays;
-    private Calendar[] selectableDays;
+    private int mMinEpochDay = EpochDay.MIN;
+    private int mMaxEpochDay = EpochDay.MAX;
+    // Whether the start date is the lower bound, which is the case while picking the end date
+    private boolean mMinSelectableIsStart;
+    private int[] mHighlightedDays;
+    private MonthBitmaskIndex mHighlightedDaysIndex;
+    // Whether the days from the start to the end date are highlighted
+    private boolean mHighlightRange;
+    private int[] mSelectableDays;
+    private SelectableDayIndex mSelectableDaysIndex;
+    // Built on first use, and again once the years or the first day of the week change
+    private MonthLayoutTable mMonthLayoutTable;
 
     private int mDuration;
 
@@ -154,9 +181,48 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
     private int mAccentColor = -1;
     private boolean mVibrate;
     private boolean mDismissOnPause;
+    private boolean mMonthRenderCacheEnabled;
+    private boolean mMonthTitlePrefetchEnabled;
+    private boolean mRecyclerViewEnabled;
+    private boolean mIdlePrewarmEnabled;
+    private PickerMetricsListener mMetricsListener;
+    private long mOpenStartNanos;
 
     private HapticFeedbackController mHapticFeedbackController;
 
+    private final BroadcastReceiver mTimeChangedReceiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            TodayProvider.getInstance().invalidate();
+        }
+    };
+
+    // Shows the duration typed on the number pad, once per frame however fast it is typed
+    private final FrameUpdateScheduler mDurationUpdateScheduler = new FrameUpdateScheduler(
+            new Runnable() {
+                @Override
+                public void run() {
+                    updateDurationDisplay();
+                }
+            });
+
+    // Creates one of the pickers not shown yet each time the UI thread goes idle
+    private final MessageQueue.IdleHandler mPrewarmIdleHandler = new MessageQueue.IdleHandler() {
+        @Override
+        public boolean queueIdle() {
+            if (mAnimator == null) {
+                return false;
+            }
+            for (int i = 0; i < ANIMATOR_CHILD_COUNT; i++) {
+                if (getAnimatorChild(i) == null) {
+                    ensureAnimatorChild(i);
+                    return true;
+                }
+            }
+            return false;
+        }
+    };
+
     private boolean mDelayAnimation = true;
 
     // Accessibility strings.
@@ -190,7 +256,51 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
      * The callback used to notify other date picker components of a change in selected date.
      */
     public interface OnDateChangedListener {
-        void onDateChanged();
+        /**
+         * @param event The old and new range, to tell which months or years need updating
+         */
+        void onDateChanged(DateChangeEvent event);
+    }
+
+    /**
+     * Receives performance metrics of the picker, see
+     * {@link #setPickerMetricsListener(PickerMetricsListener)}. Called on the UI thread, so
+     * implementations should only record the values.
+     */
+    public interface PickerMetricsListener {
+
+        /**
+         * @param nanos The time from the creation of the dialog to its first frame
+         */
+        void onDialogOpened(long nanos);
+
+        /**
+         * @param year  The year of the month drawn
+         * @param month The month drawn, 0-11
+         * @param nanos The time spent in {@link MonthView#onDraw}
+         */
+        void onMonthDrawn(int year, int month, long nanos);
+
+        /**
+         * @param year  The year of the month bound
+         * @param month The month bound, 0-11
+         * @param nanos The time the month list's adapter spent binding the month to its view
+         */
+        void onMonthBound(int year, int month, long nanos);
+
+        /**
+         * @param count The number of times a month was redrawn or bound again because the
+         *              selection changed
+         */
+        void onSelectionChanged(int count);
+
+        /**
+         * Not called before Jelly Bean.
+         *
+         * @param frames        The number of frames drawn during a fling of the month list
+         * @param droppedFrames The number of frames skipped during the fling
+         */
+        void onFlingFrames(int frames, int droppedFrames);
     }
 
     public SmoothDateRangePickerFragment() {
@@ -225,12 +335,8 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
 
     public void initialize(OnDateRangeSetListener callBack, int year, int monthOfYear, int dayOfMonth) {
         mCallBack = callBack;
-        mCalendar.set(Calendar.YEAR, year);
-        mCalendar.set(Calendar.MONTH, monthOfYear);
-        mCalendar.set(Calendar.DAY_OF_MONTH, dayOfMonth);
-        mCalendarEnd.set(Calendar.YEAR, year);
-        mCalendarEnd.set(Calendar.MONTH, monthOfYear);
-        mCalendarEnd.set(Calendar.DAY_OF_MONTH, dayOfMonth);
+        mStartEpochDay = EpochDay.of(year, monthOfYear, dayOfMonth);
+        mEndEpochDay = mStartEpochDay;
 
         mThemeDark = false;
         mAccentColor = -1;
@@ -241,28 +347,31 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
     @Override
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        if (mMetricsListener != null) {
+            mOpenStartNanos = System.nanoTime();
+        }
         final Activity activity = getActivity();
         activity.getWindow().setSoftInputMode(
                 WindowManager.LayoutParams.SOFT_INPUT_STATE_ALWAYS_HIDDEN);
         if (savedInstanceState != null) {
-            mCalendar.set(Calendar.YEAR, savedInstanceState.getInt(KEY_SELECTED_YEAR));
-            mCalendar.set(Calendar.MONTH, savedInstanceState.getInt(KEY_SELECTED_MONTH));
-            mCalendar.set(Calendar.DAY_OF_MONTH, savedInstanceState.getInt(KEY_SELECTED_DAY));
-            mCalendarEnd.set(Calendar.YEAR, savedInstanceState.getInt(KEY_SELECTED_YEAR_END));
-            mCalendarEnd.set(Calendar.MONTH, savedInstanceState.getInt(KEY_SELECTED_MONTH_END));
-            mCalendarEnd.set(Calendar.DAY_OF_MONTH, savedInstanceState.getInt(KEY_SELECTED_DAY_END));
+            mStartEpochDay = EpochDay.of(savedInstanceState.getInt(KEY_SELECTED_YEAR),
+                    savedInstanceState.getInt(KEY_SELECTED_MONTH),
+                    savedInstanceState.getInt(KEY_SELECTED_DAY));
+            mEndEpochDay = EpochDay.of(savedInstanceState.getInt(KEY_SELECTED_YEAR_END),
+                    savedInstanceState.getInt(KEY_SELECTED_MONTH_END),
+                    savedInstanceState.getInt(KEY_SELECTED_DAY_END));
         }
     }
 
     @Override
     public void onSaveInstanceState(@NonNull Bundle outState) {
         super.onSaveInstanceState(outState);
-        outState.putInt(KEY_SELECTED_YEAR, mCalendar.get(Calendar.YEAR));
-        outState.putInt(KEY_SELECTED_MONTH, mCalendar.get(Calendar.MONTH));
-        outState.putInt(KEY_SELECTED_DAY, mCalendar.get(Calendar.DAY_OF_MONTH));
-        outState.putInt(KEY_SELECTED_YEAR_END, mCalendarEnd.get(Calendar.YEAR));
-        outState.putInt(KEY_SELECTED_MONTH_END, mCalendarEnd.get(Calendar.MONTH));
-        outState.putInt(KEY_SELECTED_DAY_END, mCalendarEnd.get(Calendar.DAY_OF_MONTH));
+        outState.putInt(KEY_SELECTED_YEAR, EpochDay.getYear(mStartEpochDay));
+        outState.putInt(KEY_SELECTED_MONTH, EpochDay.getMonth(mStartEpochDay));
+        outState.putInt(KEY_SELECTED_DAY, EpochDay.getDayOfMonth(mStartEpochDay));
+        outState.putInt(KEY_SELECTED_YEAR_END, EpochDay.getYear(mEndEpochDay));
+        outState.putInt(KEY_SELECTED_MONTH_END, EpochDay.getMonth(mEndEpochDay));
+        outState.putInt(KEY_SELECTED_DAY_END, EpochDay.getDayOfMonth(mEndEpochDay));
         outState.putInt(KEY_YEAR_START, mMinYear);
         outState.putInt(KEY_YEAR_END, mMaxYear);
 
@@ -283,15 +392,20 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
         }
         outState.putInt(KEY_LIST_POSITION, listPosition);
         outState.putInt(KEY_LIST_POSITION_END, listPositionEnd);
-        outState.putSerializable(KEY_MIN_DATE, mMinDate);
-        outState.putSerializable(KEY_MAX_DATE, mMaxDate);
-        outState.putSerializable(KEY_MIN_DATE_SELECTABLE, mMinSelectableDate);
-        outState.putSerializable(KEY_HIGHLIGHTED_DAYS, highlightedDays);
-        outState.putSerializable(KEY_SELECTABLE_DAYS, selectableDays);
+        outState.putInt(KEY_MIN_DATE, mMinEpochDay);
+        outState.putInt(KEY_MAX_DATE, mMaxEpochDay);
+        outState.putBoolean(KEY_MIN_DATE_SELECTABLE, mMinSelectableIsStart);
+        outState.putParcelable(KEY_HIGHLIGHTED_DAYS, PackedEpochDays.of(mHighlightedDays));
+        outState.putBoolean(KEY_HIGHLIGHT_RANGE, mHighlightRange);
+        outState.putParcelable(KEY_SELECTABLE_DAYS, PackedEpochDays.of(mSelectableDays));
         outState.putBoolean(KEY_THEME_DARK, mThemeDark);
         outState.putInt(KEY_ACCENT, mAccentColor);
         outState.putBoolean(KEY_VIBRATE, mVibrate);
         outState.putBoolean(KEY_DISMISS, mDismissOnPause);
+        outState.putBoolean(KEY_MONTH_RENDER_CACHE, mMonthRenderCacheEnabled);
+        outState.putBoolean(KEY_MONTH_TITLE_PREFETCH, mMonthTitlePrefetchEnabled);
+        outState.putBoolean(KEY_RECYCLER_VIEW, mRecyclerViewEnabled);
+        outState.putBoolean(KEY_IDLE_PREWARM, mIdlePrewarmEnabled);
     }
 
     @Override
@@ -353,24 +467,33 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
             listPositionOffset = savedInstanceState.getInt(KEY_LIST_POSITION_OFFSET);
             listPositionEnd = savedInstanceState.getInt(KEY_LIST_POSITION_END);
             listPositionOffsetEnd = savedInstanceState.getInt(KEY_LIST_POSITION_OFFSET_END);
-            mMinDate = (Calendar) savedInstanceState.getSerializable(KEY_MIN_DATE);
-            mMaxDate = (Calendar) savedInstanceState.getSerializable(KEY_MAX_DATE);
-            mMinSelectableDate = (Calendar) savedInstanceState.getSerializable(KEY_MIN_DATE_SELECTABLE);
-            highlightedDays = (Calendar[]) savedInstanceState.getSerializable(KEY_HIGHLIGHTED_DAYS);
-            selectableDays = (Calendar[]) savedInstanceState.getSerializable(KEY_SELECTABLE_DAYS);
+            setMinDate(toBoundCalendar(savedInstanceState.getInt(KEY_MIN_DATE, EpochDay.MIN),
+                    EpochDay.MIN));
+            setMaxDate(toBoundCalendar(savedInstanceState.getInt(KEY_MAX_DATE, EpochDay.MAX),
+                    EpochDay.MAX));
+            mMinSelectableIsStart = savedInstanceState.getBoolean(KEY_MIN_DATE_SELECTABLE);
+            setHighlightedEpochDays(PackedEpochDays.getEpochDays(
+                    (PackedEpochDays) savedInstanceState.getParcelable(KEY_HIGHLIGHTED_DAYS)));
+            mHighlightRange = savedInstanceState.getBoolean(KEY_HIGHLIGHT_RANGE);
+            setSelectableEpochDays(PackedEpochDays.getEpochDays(
+                    (PackedEpochDays) savedInstanceState.getParcelable(KEY_SELECTABLE_DAYS)));
             mThemeDark = savedInstanceState.getBoolean(KEY_THEME_DARK);
             mAccentColor = savedInstanceState.getInt(KEY_ACCENT);
             mVibrate = savedInstanceState.getBoolean(KEY_VIBRATE);
             mDismissOnPause = savedInstanceState.getBoolean(KEY_DISMISS);
+            mMonthRenderCacheEnabled = savedInstanceState.getBoolean(KEY_MONTH_RENDER_CACHE);
+            mMonthTitlePrefetchEnabled = savedInstanceState.getBoolean(KEY_MONTH_TITLE_PREFETCH);
+            mRecyclerViewEnabled = savedInstanceState.getBoolean(KEY_RECYCLER_VIEW);
+            mIdlePrewarmEnabled = savedInstanceState.getBoolean(KEY_IDLE_PREWARM);
         }
 
         final Activity activity = getActivity();
-        mDayPickerView = new SimpleDayPickerView(activity, this);
-        mYearPickerView = new YearPickerView(activity, this);
-        mDayPickerViewEnd = new SimpleDayPickerView(activity, this);
-        mYearPickerViewEnd = new YearPickerView(activity, this);
-        mNumberPadView = new NumberPadView(activity, this);
-
+        // The pickers are created the first time they are shown, see ensureAnimatorChild
+        mDayPickerView = null;
+        mYearPickerView = null;
+        mDayPickerViewEnd = null;
+        mYearPickerViewEnd = null;
+        mNumberPadView = null;
 
         Resources res = getResources();
         mDayPickerDescription = res.getString(R.string.mdtp_day_picker_description);
@@ -397,12 +520,10 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
 
         mAnimator = (AccessibleDateAnimator) view.findViewById(R.id.animator);
 
-        mAnimator.addView(mDayPickerView);
-        mAnimator.addView(mYearPickerView);
-        mAnimator.addView(mDayPickerViewEnd);
-        mAnimator.addView(mYearPickerViewEnd);
-        mAnimator.addView(mNumberPadView);
-        mAnimator.setDateMillis(mCalendar.getTimeInMillis());
+        for (int i = 0; i < ANIMATOR_CHILD_COUNT; i++) {
+            mAnimator.addView(new FrameLayout(activity));
+        }
+        mAnimator.setDateMillis(EpochDay.toCalendar(mStartEpochDay, mCalendar).getTimeInMillis());
         Animation animation = new AlphaAnimation(0.0f, 1.0f);
         animation.setDuration(ANIMATION_DURATION);
         mAnimator.setInAnimation(animation);
@@ -418,9 +539,9 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
                 tryVibrate();
                 if (mCallBack != null) {
                     mCallBack.onDateRangeSet(SmoothDateRangePickerFragment.this,
-                            mCalendar.get(Calendar.YEAR), mCalendar.get(Calendar.MONTH),
-                            mCalendar.get(Calendar.DAY_OF_MONTH), mCalendarEnd.get(Calendar.YEAR),
-                            mCalendarEnd.get(Calendar.MONTH), mCalendarEnd.get(Calendar.DAY_OF_MONTH));
+                            EpochDay.getYear(mStartEpochDay), EpochDay.getMonth(mStartEpochDay),
+                            EpochDay.getDayOfMonth(mStartEpochDay), EpochDay.getYear(mEndEpochDay),
+                            EpochDay.getMonth(mEndEpochDay), EpochDay.getDayOfMonth(mEndEpochDay));
                 }
                 dismiss();
             }
@@ -459,10 +580,6 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
             mDurationEditText.getBackground().setColorFilter(Utils.darkenColor(mAccentColor), PorterDuff.Mode.SRC_ATOP);
             okButton.setTextColor(mAccentColor);
             cancelButton.setTextColor(mAccentColor);
-            mYearPickerView.setAccentColor(mAccentColor);
-            mDayPickerView.setAccentColor(mAccentColor);
-            mYearPickerViewEnd.setAccentColor(mAccentColor);
-            mDayPickerViewEnd.setAccentColor(mAccentColor);
         }
 
         updateDisplay(false);
@@ -486,19 +603,118 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
 
         mHapticFeedbackController = new HapticFeedbackController(activity);
 
+        if (mIdlePrewarmEnabled) {
+            Looper.myQueue().addIdleHandler(mPrewarmIdleHandler);
+        }
+
+        if (mMetricsListener != null) {
+            reportDialogOpened(view);
+        }
+
         return view;
     }
 
+    private void reportDialogOpened(final View view) {
+        view.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                view.getViewTreeObserver().removeOnPreDrawListener(this);
+                if (mMetricsListener != null) {
+                    mMetricsListener.onDialogOpened(System.nanoTime() - mOpenStartNanos);
+                }
+                return true;
+            }
+        });
+    }
+
+    @Override
+    public void onDestroyView() {
+        Looper.myQueue().removeIdleHandler(mPrewarmIdleHandler);
+        mDurationUpdateScheduler.cancel();
+        super.onDestroyView();
+    }
+
+    /**
+     * @return The picker shown at the given index of the animator, or null if it has not been
+     * created yet
+     */
+    private View getAnimatorChild(int viewIndex) {
+        switch (viewIndex) {
+            case MONTH_AND_DAY_VIEW:
+                return (View) mDayPickerView;
+            case YEAR_VIEW:
+                return mYearPickerView;
+            case MONTH_AND_DAY_VIEW_END:
+                return (View) mDayPickerViewEnd;
+            case YEAR_VIEW_END:
+                return mYearPickerViewEnd;
+            default:
+                return mNumberPadView;
+        }
+    }
+
+    /**
+     * Creates the picker shown at the given index of the animator if it has not been created yet,
+     * and puts it into the placeholder added for it in onCreateView.
+     */
+    private void ensureAnimatorChild(int viewIndex) {
+        if (getAnimatorChild(viewIndex) != null) {
+            return;
+        }
+        final Activity activity = getActivity();
+        View child;
+        switch (viewIndex) {
+            case MONTH_AND_DAY_VIEW:
+                mDayPickerView = createDayPicker(activity);
+                if (mAccentColor != -1) mDayPickerView.setAccentColor(mAccentColor);
+                child = (View) mDayPickerView;
+                break;
+            case YEAR_VIEW:
+                mYearPickerView = new YearPickerView(activity, this);
+                if (mAccentColor != -1) mYearPickerView.setAccentColor(mAccentColor);
+                child = mYearPickerView;
+                break;
+            case MONTH_AND_DAY_VIEW_END:
+                mDayPickerViewEnd = createDayPicker(activity);
+                if (mAccentColor != -1) mDayPickerViewEnd.setAccentColor(mAccentColor);
+                child = (View) mDayPickerViewEnd;
+                break;
+            case YEAR_VIEW_END:
+                mYearPickerViewEnd = new YearPickerView(activity, this);
+                if (mAccentColor != -1) mYearPickerViewEnd.setAccentColor(mAccentColor);
+                child = mYearPickerViewEnd;
+                break;
+            default:
+                mNumberPadView = new NumberPadView(activity, this);
+                child = mNumberPadView;
+                break;
+        }
+        ((ViewGroup) mAnimator.getChildAt(viewIndex)).addView(child);
+    }
+
+    private DayPicker createDayPicker(Activity activity) {
+        if (mRecyclerViewEnabled) {
+            return new RecyclerDayPickerView(activity, this);
+        }
+        return new SimpleDayPickerView(activity, this);
+    }
+
     @Override
     public void onResume() {
         super.onResume();
         mHapticFeedbackController.start();
+
+        IntentFilter filter = new IntentFilter();
+        filter.addAction(Intent.ACTION_TIME_CHANGED);
+        filter.addAction(Intent.ACTION_TIMEZONE_CHANGED);
+        getActivity().registerReceiver(mTimeChangedReceiver, filter);
     }
 
     @Override
     public void onPause() {
         super.onPause();
         mHapticFeedbackController.stop();
+        getActivity().unregisterReceiver(mTimeChangedReceiver);
         if (mDismissOnPause) dismiss();
     }
 
@@ -515,9 +731,10 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
     }
 
     private void setCurrentView(final int viewIndex) {
-        long millis = mCalendar.getTimeInMillis();
-        long millisEnd = mCalendarEnd.getTimeInMillis();
+        long millis = EpochDay.toCalendar(mStartEpochDay, mCalendar).getTimeInMillis();
+        long millisEnd = EpochDay.toCalendar(mEndEpochDay, mCalendarEnd).getTimeInMillis();
 
+        ensureAnimatorChild(viewIndex);
         if (viewIndex != DURATION_VIEW) {
             if (mCurrentView != viewIndex) {
                 setViewSelected(viewList.get(viewIndex));
@@ -531,7 +748,7 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
 
         switch (viewIndex) {
             case MONTH_AND_DAY_VIEW:
-                mMinSelectableDate = mMinDate;
+                mMinSelectableIsStart = false;
                 mDayPickerView.onDateChanged();
 
                 int flags = DateUtils.FORMAT_SHOW_DATE;
@@ -540,7 +757,7 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
                 Utils.tryAccessibilityAnnounce(mAnimator, mSelectDay);
                 break;
             case MONTH_AND_DAY_VIEW_END:
-                mMinSelectableDate = mCalendar;
+                mMinSelectableIsStart = true;
                 mDayPickerViewEnd.onDateChanged();
 
                 flags = DateUtils.FORMAT_SHOW_DATE;
@@ -549,18 +766,20 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
                 Utils.tryAccessibilityAnnounce(mAnimator, mSelectDay);
                 break;
             case YEAR_VIEW:
-                mMinSelectableDate = mMinDate;
+                mMinSelectableIsStart = false;
                 mYearPickerView.onDateChanged();
                 mYearPickerView.refreshYearAdapter();
+                mYearPickerView.centerSelectedYear();
 
                 CharSequence yearString = YEAR_FORMAT.format(millis);
                 mAnimator.setContentDescription(mYearPickerDescription + ": " + yearString);
                 Utils.tryAccessibilityAnnounce(mAnimator, mSelectYear);
                 break;
             case YEAR_VIEW_END:
-                mMinSelectableDate = mCalendar;
+                mMinSelectableIsStart = true;
                 mYearPickerViewEnd.onDateChanged();
                 mYearPickerViewEnd.refreshYearAdapter();
+                mYearPickerViewEnd.centerSelectedYear();
 
                 CharSequence yearStringEnd = YEAR_FORMAT.format(millisEnd);
                 mAnimator.setContentDescription(mYearPickerDescription + ": " + yearStringEnd);
@@ -582,7 +801,7 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
                 mDurationTextView.setVisibility(View.GONE);
                 mDurationEditText.setVisibility(View.VISIBLE);
                 mDurationEditText.requestFocus();
-                mDurationEditText.setText(String.valueOf(Utils.daysBetween(mCalendar, mCalendarEnd)));
+                mDurationEditText.setText(String.valueOf(mEndEpochDay - mStartEpochDay));
                 mDurationEditText.selectAll();
                 //TODO Accessibility
                 break;
@@ -610,6 +829,17 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
     }
 
     private void updateDisplay(boolean announce) {
+        PickerTrace.beginSection("SmoothDateRangePickerFragment.updateDisplay");
+        try {
+            updateHeader(announce);
+        } finally {
+            PickerTrace.endSection();
+        }
+    }
+
+    private void updateHeader(boolean announce) {
+        EpochDay.toCalendar(mStartEpochDay, mCalendar);
+        EpochDay.toCalendar(mEndEpochDay, mCalendarEnd);
         if (mDayOfWeekView != null && mDayOfWeekViewEnd != null) {
             mDayOfWeekView.setText(mCalendar.getDisplayName(Calendar.DAY_OF_WEEK, Calendar.LONG,
                     Locale.getDefault()).toUpperCase(Locale.getDefault()));
@@ -625,7 +855,7 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
         mSelectedDayTextViewEnd.setText(DAY_FORMAT.format(mCalendarEnd.getTime()));
         mYearView.setText(YEAR_FORMAT.format(mCalendar.getTime()));
         mYearViewEnd.setText(YEAR_FORMAT.format(mCalendarEnd.getTime()));
-        mDuration = Utils.daysBetween(mCalendar, mCalendarEnd);
+        mDuration = mEndEpochDay - mStartEpochDay;
         mDurationTextView.setText(String.valueOf(mDuration));
         mDurationDayTextView.setText(mDuration > 1 ? getString(R.string.days) : getString(R.string.day));
 
@@ -684,6 +914,80 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
         return mThemeDark;
     }
 
+    /**
+     * Set whether month views should record the parts of a month that don't depend on the
+     * selection (title, weekday labels and plain day numbers) once and replay them on later draws
+     *
+     * @param enabled true to cache the static layer of recently drawn months
+     */
+    @SuppressWarnings("unused")
+    public void setMonthRenderCacheEnabled(boolean enabled) {
+        mMonthRenderCacheEnabled = enabled;
+    }
+
+    @Override
+    public boolean isMonthRenderCacheEnabled() {
+        return mMonthRenderCacheEnabled;
+    }
+
+    /**
+     * Set whether the titles of the months next to each displayed month should be formatted on a
+     * background thread, so that scrolling never has to format a title
+     *
+     * @param enabled true to prefetch the titles of adjacent months
+     */
+    @SuppressWarnings("unused")
+    public void setMonthTitlePrefetchEnabled(boolean enabled) {
+        mMonthTitlePrefetchEnabled = enabled;
+    }
+
+    @Override
+    public boolean isMonthTitlePrefetchEnabled() {
+        return mMonthTitlePrefetchEnabled;
+    }
+
+    /**
+     * Set a listener to receive performance metrics of the picker: how long the dialog took to
+     * open, how long each month took to draw and bind, how many months a selection change
+     * redrew and how many frames flings dropped. Nothing is measured while no listener is set.
+     * Set it before the dialog is shown to receive the open time.
+     *
+     * @param listener The listener, or null to stop measuring
+     */
+    @SuppressWarnings("unused")
+    public void setPickerMetricsListener(PickerMetricsListener listener) {
+        mMetricsListener = listener;
+    }
+
+    @Override
+    public PickerMetricsListener getMetricsListener() {
+        return mMetricsListener;
+    }
+
+    /**
+     * Set whether the lists of months should be RecyclerViews instead of ListViews. A
+     * RecyclerView redraws the visible months without binding them again when the selection
+     * changes, and binds the next month ahead while scrolling. Must be called before the dialog
+     * is shown.
+     *
+     * @param enabled true to display the months in a RecyclerView
+     */
+    @SuppressWarnings("unused")
+    public void setRecyclerViewEnabled(boolean enabled) {
+        mRecyclerViewEnabled = enabled;
+    }
+
+    /**
+     * Set whether the pickers that are not shown yet should be created while the UI thread is
+     * idle, instead of the first time they are shown. Off by default.
+     *
+     * @param enabled true to create them while idle
+     */
+    @SuppressWarnings("unused")
+    public void setIdlePrewarmEnabled(boolean enabled) {
+        mIdlePrewarmEnabled = enabled;
+    }
+
     /**
      * Set the accent color of this dialog
      *
@@ -727,8 +1031,11 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
 
         mMinYear = startYear;
         mMaxYear = endYear;
-        if (mDayPickerView != null && mDayPickerViewEnd != null) {
+        if (mDayPickerView != null) {
             mDayPickerView.onChange();
+        }
+
+        if (mDayPickerViewEnd != null) {
             mDayPickerViewEnd.onChange();
         }
     }
@@ -742,16 +1049,24 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
     @SuppressWarnings("unused")
     public void setMinDate(Calendar calendar) {
         mMinDate = calendar;
-        if (mDayPickerView != null && mDayPickerViewEnd != null) {
+        mMinEpochDay = calendar != null ? EpochDay.of(calendar) : EpochDay.MIN;
+        if (mDayPickerView != null) {
             mDayPickerView.onChange();
+        }
+
+        if (mDayPickerViewEnd != null) {
             mDayPickerViewEnd.onChange();
         }
     }
 
+    // The bounds are saved as epoch days, with unset meaning there is no bound
+    private static Calendar toBoundCalendar(int epochDay, int unset) {
+        return epochDay != unset ? EpochDay.toCalendar(epochDay, Calendar.getInstance()) : null;
+    }
+
     /**
      * @return The minimal date supported by this DatePicker. Null if it has not been set.
      */
-    @Override
     public Calendar getMinDate() {
         return mMinDate;
     }
@@ -760,9 +1075,17 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
      * @return The minimal date can be selected by this DatePicker. return mMinDate if
      * mMonthAndDayView is showing.
      */
-    @Override
+    @SuppressWarnings("unused")
     public Calendar getMinSelectableDate() {
-        return mMinSelectableDate;
+        if (mMinSelectableIsStart) {
+            return EpochDay.toCalendar(mStartEpochDay, Calendar.getInstance());
+        }
+        return mMinDate;
+    }
+
+    @Override
+    public int getMinSelectableEpochDay() {
+        return mMinSelectableIsStart ? mStartEpochDay : mMinEpochDay;
     }
 
     /**
@@ -774,9 +1097,13 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
     @SuppressWarnings("unused")
     public void setMaxDate(Calendar calendar) {
         mMaxDate = calendar;
+        mMaxEpochDay = calendar != null ? EpochDay.of(calendar) : EpochDay.MAX;
 
-        if (mDayPickerView != null && mDayPickerViewEnd != null) {
+        if (mDayPickerView != null) {
             mDayPickerView.onChange();
+        }
+
+        if (mDayPickerViewEnd != null) {
             mDayPickerViewEnd.onChange();
         }
     }
@@ -784,43 +1111,77 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
     /**
      * @return The maximal date supported by this DatePicker. Null if it has not been set.
      */
-    @Override
     public Calendar getMaxDate() {
         return mMaxDate;
     }
 
+    @Override
+    public int getMaxEpochDay() {
+        return mMaxEpochDay;
+    }
+
+    @Override
+    public int getStartEpochDay() {
+        return mStartEpochDay;
+    }
+
+    @Override
+    public int getEndEpochDay() {
+        return mEndEpochDay;
+    }
+
+    @Override
+    public boolean isRangeHighlighted() {
+        return mHighlightRange;
+    }
+
 
-    // update highlight days
-    private void updateHighlightDays() {
-        List<Calendar> highlightList = new ArrayList<>();
-        for (int i = 0; i < Utils.daysBetween(mCalendar, mCalendarEnd) + 1; i++) {
-            Calendar c = Calendar.getInstance();
-            c.setTime(mCalendar.getTime());
-            c.add(Calendar.DAY_OF_YEAR, i);
-            highlightList.add(c);
+    // Highlights the days from the start to the end date. The range isn't copied into the
+    // highlighted days, month views read it from the start and end epoch day through
+    // getHighlightedDaysInMonth
+    private void highlightRange() {
+        PickerTrace.beginSection("SmoothDateRangePickerFragment.highlightRange");
+        try {
+            mHighlightRange = true;
+        } finally {
+            PickerTrace.endSection();
         }
-        Calendar[] calendars = highlightList.toArray(new Calendar[highlightList.size()]);
-        setHighlightedDays(calendars);
     }
 
     /**
-     * Sets an array of dates which should be highlighted when the picker is drawn
+     * Sets an array of dates which should be highlighted when the picker is drawn, in addition to
+     * the selected range. Selecting a date no longer replaces these dates with the selected range.
      *
      * @param highlightedDays an Array of Calendar objects containing the dates to be highlighted
      */
 
     public void setHighlightedDays(Calendar[] highlightedDays) {
-        // Sort the array to optimize searching over it later on
-        Arrays.sort(highlightedDays);
-        this.highlightedDays = highlightedDays;
+        setHighlightedEpochDays(EpochDay.of(highlightedDays));
+    }
+
+    private void setHighlightedEpochDays(int[] sortedEpochDays) {
+        mHighlightedDays = sortedEpochDays;
+        // Index the days by month so that month views can look them up with a bit test
+        mHighlightedDaysIndex = MonthBitmaskIndex.of(sortedEpochDays);
     }
 
     /**
+     * Returns the dates passed to {@link #setHighlightedDays(Calendar[])}. The selected range is
+     * highlighted too, but is no longer included once a date has been selected.
+     *
      * @return The list of dates, as Calendar Objects, which should be highlighted. null is no dates should be highlighted
      */
-    @Override
     public Calendar[] getHighlightedDays() {
-        return highlightedDays;
+        return EpochDay.toCalendars(mHighlightedDays);
+    }
+
+    @Override
+    public int getHighlightedDaysInMonth(int year, int month) {
+        int mask = mHighlightedDaysIndex != null ? mHighlightedDaysIndex.getMask(year, month) : 0;
+        if (mHighlightRange) {
+            mask |= MonthBitmaskIndex.getRangeMask(year, month, mStartEpochDay, mEndEpochDay);
+        }
+        return mask;
     }
 
     /**
@@ -831,17 +1192,39 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
      */
     @SuppressWarnings("unused")
     public void setSelectableDays(Calendar[] selectableDays) {
-        // Sort the array to optimize searching over it later on
-        Arrays.sort(selectableDays);
-        this.selectableDays = selectableDays;
+        setSelectableEpochDays(EpochDay.of(selectableDays));
+    }
+
+    private void setSelectableEpochDays(int[] sortedEpochDays) {
+        mSelectableDays = sortedEpochDays;
+        // Collapse the days into runs so that lookups don't depend on the number of days
+        mSelectableDaysIndex = SelectableDayIndex.of(sortedEpochDays);
     }
 
     /**
      * @return an Array of Calendar objects containing the list with selectable items. null if no restriction is set
      */
-    @Override
     public Calendar[] getSelectableDays() {
-        return selectableDays;
+        return EpochDay.toCalendars(mSelectableDays);
+    }
+
+    @Override
+    public boolean hasSelectableDays() {
+        return mSelectableDaysIndex != null;
+    }
+
+    @Override
+    public boolean isSelectableDay(int epochDay) {
+        return mSelectableDaysIndex == null || mSelectableDaysIndex.contains(epochDay);
+    }
+
+    @Override
+    public boolean hasSelectableDayInYear(int year) {
+        return mSelectableDaysIndex == null || mSelectableDaysIndex.hasDayInYear(year);
+    }
+
+    private boolean hasNonEmptySelectableDays() {
+        return mSelectableDaysIndex != null && !mSelectableDaysIndex.isEmpty();
     }
 
 
@@ -864,12 +1247,10 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
     // change the selected day number to the last day of the selected month or year.
     //      e.g. Switching from Mar to Apr when Mar 31 is selected -> Apr 30
     //      e.g. Switching from 2012 to 2013 when Feb 29, 2012 is selected -> Feb 28, 2013
-    private void adjustDayInMonthIfNeeded(Calendar calendar) {
-        int day = calendar.get(Calendar.DAY_OF_MONTH);
-        int daysInMonth = calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
-        if (day > daysInMonth) {
-            calendar.set(Calendar.DAY_OF_MONTH, daysInMonth);
-        }
+    private static int setYearAdjustingDay(int epochDay, int year) {
+        int month = EpochDay.getMonth(epochDay);
+        int day = Math.min(EpochDay.getDayOfMonth(epochDay), EpochDay.getDaysInMonth(year, month));
+        return EpochDay.of(year, month, day);
     }
 
     @Override
@@ -896,58 +1277,59 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
 
     @Override
     public void onYearSelected(int year) {
-        updatePickers();
+        // Before the pickers are updated, so that they redraw the newly highlighted range
+        highlightRange();
+        final int oldStartEpochDay = mStartEpochDay;
+        final int oldEndEpochDay = mEndEpochDay;
         if (mCurrentView == YEAR_VIEW) {
-            adjustDayInMonthIfNeeded(mCalendar);
-            mCalendar.set(Calendar.YEAR, year);
+            mStartEpochDay = setYearAdjustingDay(mStartEpochDay, year);
             //make sure start date always after min date and before max date
-            if (getMinDate() != null && mCalendar.before(getMinDate())) {
-                mCalendar.setTime(getMinDate().getTime());
-            } else if (getMaxDate() != null && mCalendar.after(getMaxDate())) {
-                mCalendar.setTime(getMaxDate().getTime());
+            if (mStartEpochDay < mMinEpochDay) {
+                mStartEpochDay = mMinEpochDay;
+            } else if (mStartEpochDay > mMaxEpochDay) {
+                mStartEpochDay = mMaxEpochDay;
             }
-            if (mCalendar.after(mCalendarEnd)) {
+            if (mStartEpochDay > mEndEpochDay) {
                 //make sure end date always after start date
-                mCalendarEnd.setTime(mCalendar.getTime());
+                mEndEpochDay = mStartEpochDay;
             }
+            updatePickers(oldStartEpochDay, oldEndEpochDay);
             setCurrentView(MONTH_AND_DAY_VIEW);
         } else if (mCurrentView == YEAR_VIEW_END) {
-            adjustDayInMonthIfNeeded(mCalendarEnd);
-            mCalendarEnd.set(Calendar.YEAR, year);
+            mEndEpochDay = setYearAdjustingDay(mEndEpochDay, year);
             //make sure end date always after min date and before max date
-            if (getMinDate() != null && mCalendarEnd.before(getMinDate())) {
-                mCalendarEnd.setTime(getMinDate().getTime());
-            } else if (getMaxDate() != null && mCalendarEnd.after(getMaxDate())) {
-                mCalendarEnd.setTime(getMaxDate().getTime());
+            if (mEndEpochDay < mMinEpochDay) {
+                mEndEpochDay = mMinEpochDay;
+            } else if (mEndEpochDay > mMaxEpochDay) {
+                mEndEpochDay = mMaxEpochDay;
             }
-            if (mCalendar.after(mCalendarEnd)) {
+            if (mStartEpochDay > mEndEpochDay) {
                 //make sure end date always after start date
-                mCalendarEnd.setTime(mCalendar.getTime());
+                mEndEpochDay = mStartEpochDay;
             }
+            updatePickers(oldStartEpochDay, oldEndEpochDay);
             setCurrentView(MONTH_AND_DAY_VIEW_END);
         }
-        updateHighlightDays();
         updateDisplay(true);
     }
 
     @Override
     public void onDayOfMonthSelected(int year, int month, int day) {
+        // Before the pickers are updated, so that they redraw the newly highlighted range
+        highlightRange();
+        final int oldStartEpochDay = mStartEpochDay;
+        final int oldEndEpochDay = mEndEpochDay;
         if (mCurrentView == MONTH_AND_DAY_VIEW) {
-            mCalendar.set(Calendar.YEAR, year);
-            mCalendar.set(Calendar.MONTH, month);
-            mCalendar.set(Calendar.DAY_OF_MONTH, day);
-            if (mCalendar.after(mCalendarEnd)) {
-                mCalendarEnd.setTime(mCalendar.getTime());
+            mStartEpochDay = EpochDay.of(year, month, day);
+            if (mStartEpochDay > mEndEpochDay) {
+                mEndEpochDay = mStartEpochDay;
             }
             // jump to end day selector
             setCurrentView(MONTH_AND_DAY_VIEW_END);
         } else if (mCurrentView == MONTH_AND_DAY_VIEW_END) {
-            mCalendarEnd.set(Calendar.YEAR, year);
-            mCalendarEnd.set(Calendar.MONTH, month);
-            mCalendarEnd.set(Calendar.DAY_OF_MONTH, day);
+            mEndEpochDay = EpochDay.of(year, month, day);
         }
-        updatePickers();
-        updateHighlightDays();
+        updatePickers(oldStartEpochDay, oldEndEpochDay);
 
         updateDisplay(true);
     }
@@ -955,16 +1337,14 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
     @Override
     public void onDurationChanged(int num) {
         if (num >= 0) {
-            Calendar limitDay = Calendar.getInstance();
             int limitDuration;
             if (mMonthAndDayView.isSelected()) {
-                limitDay.set(1900, 0, 1);
-                limitDuration = Utils.daysBetween(limitDay, mCalendarEnd) + 1;
+                limitDuration = mEndEpochDay - EpochDay.of(DEFAULT_START_YEAR, Calendar.JANUARY, 1) + 1;
             } else {
-                limitDay.set(2100, 11, 31);
-                limitDuration = Utils.daysBetween(mCalendar, limitDay);
+                limitDuration = EpochDay.of(DEFAULT_END_YEAR, Calendar.DECEMBER, 31) - mStartEpochDay;
             }
-            if (mDurationEditText.hasSelection()) {
+            // A scheduled update will replace the text, and with it the selection
+            if (!mDurationUpdateScheduler.isScheduled() && mDurationEditText.hasSelection()) {
                 mDuration = num;
             } else {
                 mDuration = mDuration * 10 + num > limitDuration ? limitDuration : mDuration * 10 + num;
@@ -974,56 +1354,61 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
         } else if (num == -2) { // delete all
             mDuration = 0;
         }
-        mDurationEditText.setText(String.valueOf(mDuration));
-        mDurationEditText.setSelection(String.valueOf(mDuration).length());
         if (mMonthAndDayView.isSelected()) {
-            mCalendar.setTime(mCalendarEnd.getTime());
-            mCalendar.add(Calendar.DATE, -mDuration);
+            mStartEpochDay = mEndEpochDay - mDuration;
         } else {
-            mCalendarEnd.setTime(mCalendar.getTime());
-            mCalendarEnd.add(Calendar.DATE, mDuration);
+            mEndEpochDay = mStartEpochDay + mDuration;
         }
+        // The dates are updated right away, the views once for all the keys of a frame
+        mDurationUpdateScheduler.schedule();
+    }
 
-        updateHighlightDays();
+    private void updateDurationDisplay() {
+        final String duration = String.valueOf(mDuration);
+        mDurationEditText.setText(duration);
+        mDurationEditText.setSelection(duration.length());
+        highlightRange();
         updateDisplay(true);
     }
 
-    private void updatePickers() {
-        for (OnDateChangedListener listener : mListeners) listener.onDateChanged();
+    private void updatePickers(int oldStartEpochDay, int oldEndEpochDay) {
+        final DateChangeEvent event = new DateChangeEvent(oldStartEpochDay, oldEndEpochDay,
+                mStartEpochDay, mEndEpochDay);
+        for (OnDateChangedListener listener : mListeners) listener.onDateChanged(event);
     }
 
     @Override
     public MonthAdapter.CalendarDay getSelectedDay() {
-        if (mYearView.isSelected() || mMonthAndDayView.isSelected()) {
-            return new MonthAdapter.CalendarDay(mCalendar);
-        } else {
-            return new MonthAdapter.CalendarDay(mCalendarEnd);
-        }
+        int epochDay = mYearView.isSelected() || mMonthAndDayView.isSelected()
+                ? mStartEpochDay : mEndEpochDay;
+        return new MonthAdapter.CalendarDay(EpochDay.getYear(epochDay),
+                EpochDay.getMonth(epochDay), EpochDay.getDayOfMonth(epochDay));
     }
 
     @Override
     public int getMinYear() {
-        if (selectableDays != null) return selectableDays[0].get(Calendar.YEAR);
+        if (hasNonEmptySelectableDays()) return EpochDay.getYear(mSelectableDaysIndex.getFirstDay());
         // Ensure no years can be selected outside of the given minimum date
-        return mMinDate != null && mMinDate.get(Calendar.YEAR) > mMinYear ?
-                mMinDate.get(Calendar.YEAR) : mMinYear;
+        return mMinEpochDay != EpochDay.MIN && EpochDay.getYear(mMinEpochDay) > mMinYear ?
+                EpochDay.getYear(mMinEpochDay) : mMinYear;
     }
 
     @Override
     public int getMinSelectableYear() {
-        if (selectableDays != null) return selectableDays[0].get(Calendar.YEAR);
+        if (hasNonEmptySelectableDays()) return EpochDay.getYear(mSelectableDaysIndex.getFirstDay());
         // Ensure no years can be selected outside of the given minimum date
-        return mMinSelectableDate != null && mMinSelectableDate.get(Calendar.YEAR) > mMinYear ?
-                mMinSelectableDate.get(Calendar.YEAR) : mMinYear;
+        int minSelectableDay = getMinSelectableEpochDay();
+        return minSelectableDay != EpochDay.MIN && EpochDay.getYear(minSelectableDay) > mMinYear ?
+                EpochDay.getYear(minSelectableDay) : mMinYear;
     }
 
     @Override
     public int getMaxYear() {
-        if (selectableDays != null)
-            return selectableDays[selectableDays.length - 1].get(Calendar.YEAR);
+        if (hasNonEmptySelectableDays())
+            return EpochDay.getYear(mSelectableDaysIndex.getLastDay());
         // Ensure no years can be selected outside of the given maximum date
-        return mMaxDate != null && mMaxDate.get(Calendar.YEAR) < mMaxYear ?
-                mMaxDate.get(Calendar.YEAR) : mMaxYear;
+        return mMaxEpochDay != EpochDay.MAX && EpochDay.getYear(mMaxEpochDay) < mMaxYear ?
+                EpochDay.getYear(mMaxEpochDay) : mMaxYear;
     }
 
     @Override
@@ -1031,14 +1416,39 @@ public class SmoothDateRangePickerFragment extends DialogFragment implements OnC
         return mWeekStart;
     }
 
+    @Override
+    public MonthLayoutTable getMonthLayoutTable() {
+        final int minYear = getMinYear();
+        final int maxYear = getMaxYear();
+        if (mMonthLayoutTable == null || !mMonthLayoutTable.covers(minYear, maxYear, mWeekStart)) {
+            mMonthLayoutTable = MonthLayoutTable.of(minYear, maxYear, mWeekStart);
+        }
+        return mMonthLayoutTable;
+    }
+
     @Override
     public void registerOnDateChangedListener(OnDateChangedListener listener) {
-        mListeners.add(listener);
+        for (OnDateChangedListener registered : mListeners) {
+            if (registered == listener) {
+                return;
+            }
+        }
+        OnDateChangedListener[] listeners = Arrays.copyOf(mListeners, mListeners.length + 1);
+        listeners[mListeners.length] = listener;
+        mListeners = listeners;
     }
 
     @Override
     public void unregisterOnDateChangedListener(OnDateChangedListener listener) {
-        mListeners.remove(listener);
+        for (int i = 0; i < mListeners.length; i++) {
+            if (mListeners[i] == listener) {
+                OnDateChangedListener[] listeners = new OnDateChangedListener[mListeners.length - 1];
+                System.arraycopy(mListeners, 0, listeners, 0, i);
+                System.arraycopy(mListeners, i + 1, listeners, i, listeners.length - i);
+                mListeners = listeners;
+                return;
+            }
+        }
     }
 
     @Override
@@ -44,6 +44,10 @@ public class TextViewWithCircularIndicator extends TextView {
     private final String mItemIsSelectedText;
 
     private boolean mDrawCircle;
+    // The colors the text color was last created for, so that a rebind doesn't recreate it
+    private boolean mHasTextColor;
+    private int mTextAccentColor;
+    private boolean mTextIsDarkTheme;
 
     public TextViewWithCircularIndicator(Context context, AttributeSet attrs) {
         super(context, attrs);
@@ -67,7 +71,13 @@ public class TextViewWithCircularIndicator extends TextView {
     public void setAccentColor(int color, boolean isDarkTheme) {
         mCircleColor = color;
         mCirclePaint.setColor(mCircleColor);
+        if (mHasTextColor && color == mTextAccentColor && isDarkTheme == mTextIsDarkTheme) {
+            return;
+        }
         setTextColor(createTextColor(color, isDarkTheme));
+        mHasTextColor = true;
+        mTextAccentColor = color;
+        mTextIsDarkTheme = isDarkTheme;
     }
 
     /**
@@ -120,8 +130,17 @@ public class TextViewWithCircularIndicator extends TextView {
         return new ColorStateList(states, colors);
     }
 
+    /**
+     * Shows or hides the circle and the selected text color. Only redraws the view, it doesn't
+     * need to be laid out again.
+     */
     public void drawIndicator(boolean drawCircle) {
+        if (mDrawCircle == drawCircle) {
+            return;
+        }
         mDrawCircle = drawCircle;
+        setSelected(drawCircle);
+        invalidate();
     }
 
     @Override
@@ -132,7 +151,6 @@ public class TextViewWithCircularIndicator extends TextView {
             int radius = Math.min(width, height) / 2;
             canvas.drawCircle(width / 2, height / 2, radius, mCirclePaint);
         }
-        setSelected(mDrawCircle);
         super.onDraw(canvas);
     }
 
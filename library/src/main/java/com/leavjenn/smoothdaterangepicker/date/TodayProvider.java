@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.leavjenn.smoothdaterangepicker.date;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * Knows which day is today. Today is computed from the clock once and kept until the next local
+ * midnight, or until {@link #invalidate()} is called after a time or time zone change, so asking
+ * whether a month contains today is a couple of int compares.
+ * <p/>
+ * Must be used on the UI thread.
+ */
+final class TodayProvider {
+
+    /**
+     * A source of the current time, replaceable in tests.
+     */
+    interface Clock {
+        long currentTimeMillis();
+    }
+
+    static final Clock SYSTEM_CLOCK = new Clock() {
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+    };
+
+    private static TodayProvider sInstance = new TodayProvider(SYSTEM_CLOCK, null);
+
+    private final Clock mClock;
+    // The time zone today is computed in, or null for the default time zone
+    private final TimeZone mTimeZone;
+
+    private boolean mValid;
+    private int mToday;
+    private int mTodayYear;
+    private int mTodayMonth;
+    private int mTodayDayOfMonth;
+    // Today lasts from mTodayStartMillis inclusive to mTomorrowStartMillis exclusive
+    private long mTodayStartMillis;
+    private long mTomorrowStartMillis;
+
+    TodayProvider(Clock clock, TimeZone timeZone) {
+        mClock = clock;
+        mTimeZone = timeZone;
+    }
+
+    static TodayProvider getInstance() {
+        return sInstance;
+    }
+
+    /**
+     * Replaces the provider used by all month views, e.g. with one driven by a fixed clock.
+     */
+    static void setInstance(TodayProvider provider) {
+        sInstance = provider;
+    }
+
+    /**
+     * @return The epoch day of today
+     */
+    int getToday() {
+        update();
+        return mToday;
+    }
+
+    /**
+     * @param year  The year
+     * @param month The month, 0-11
+     * @return The day of the month of today if today is in the given month, -1 otherwise
+     */
+    int getDayOfMonthIn(int year, int month) {
+        update();
+        return year == mTodayYear && month == mTodayMonth ? mTodayDayOfMonth : -1;
+    }
+
+    /**
+     * Forces today to be computed again on next use. Call this when the time or the time zone
+     * has been changed.
+     */
+    void invalidate() {
+        mValid = false;
+    }
+
+    private void update() {
+        final long now = mClock.currentTimeMillis();
+        if (mValid && now >= mTodayStartMillis && now < mTomorrowStartMillis) {
+            return;
+        }
+        Calendar calendar = mTimeZone != null
+                ? Calendar.getInstance(mTimeZone) : Calendar.getInstance();
+        calendar.setTimeInMillis(now);
+        mTodayYear = calendar.get(Calendar.YEAR);
+        mTodayMonth = calendar.get(Calendar.MONTH);
+        mTodayDayOfMonth = calendar.get(Calendar.DAY_OF_MONTH);
+        mToday = EpochDay.of(mTodayYear, mTodayMonth, mTodayDayOfMonth);
+
+        calendar.clear();
+        calendar.set(mTodayYear, mTodayMonth, mTodayDayOfMonth);
+        mTodayStartMillis = calendar.getTimeInMillis();
+        calendar.add(Calendar.DAY_OF_MONTH, 1);
+        mTomorrowStartMillis = calendar.getTimeInMillis();
+        mValid = true;
+    }
+}
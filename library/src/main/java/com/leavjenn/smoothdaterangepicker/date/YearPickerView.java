@@ -19,21 +19,18 @@ package com.leavjenn.smoothdaterangepicker.date;
 import android.content.Context;
 import android.content.res.Resources;
 import android.graphics.drawable.StateListDrawable;
+import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.view.accessibility.AccessibilityEvent;
 import android.widget.AdapterView;
 import android.widget.AdapterView.OnItemClickListener;
-import android.widget.ArrayAdapter;
+import android.widget.BaseAdapter;
 import android.widget.ListView;
-import android.widget.TextView;
 
+import com.leavjenn.smoothdaterangepicker.PickerTrace;
 import com.leavjenn.smoothdaterangepicker.R;
 
-import java.util.ArrayList;
-import java.util.List;
-
-
 /**
  * Displays a selectable list of years.
  */
@@ -44,7 +41,6 @@ public class YearPickerView extends ListView implements OnItemClickListener, Smo
     private YearAdapter mAdapter;
     private int mViewSize;
     private int mChildSize;
-    private TextViewWithCircularIndicator mSelectedView;
     private int mAccentColor;
 
     /**
@@ -66,15 +62,11 @@ public class YearPickerView extends ListView implements OnItemClickListener, Smo
         setOnItemClickListener(this);
         setSelector(new StateListDrawable());
         setDividerHeight(0);
-        onDateChanged();
+        centerSelectedYear();
     }
 
     private void init(Context context) {
-        ArrayList<String> years = new ArrayList<String>();
-        for (int year = mController.getMinSelectableYear(); year <= mController.getMaxYear(); year++) {
-            years.add(String.format("%d", year));
-        }
-        mAdapter = new YearAdapter(context, R.layout.sdrp_year_label_text_view, years);
+        mAdapter = new YearAdapter(context);
         setAdapter(mAdapter);
     }
 
@@ -85,46 +77,104 @@ public class YearPickerView extends ListView implements OnItemClickListener, Smo
     @Override
     public void onItemClick(AdapterView<?> parent, View view, int position, long id) {
         mController.tryVibrate();
-        TextViewWithCircularIndicator clickedView = (TextViewWithCircularIndicator) view;
-        if (clickedView != null) {
-            if (clickedView != mSelectedView) {
-                if (mSelectedView != null) {
-                    mSelectedView.drawIndicator(false);
-                    mSelectedView.requestLayout();
-                }
-                clickedView.drawIndicator(true);
-                clickedView.requestLayout();
-                mSelectedView = clickedView;
-            }
-            mController.onYearSelected(getYearFromTextView(clickedView));
-            mAdapter.notifyDataSetChanged();
+        if (view != null) {
+            // The controller calls onDateChanged, which moves the indicator to the clicked year
+            mController.onYearSelected(mAdapter.getYear(position));
         }
     }
 
-    private static int getYearFromTextView(TextView view) {
-        return Integer.valueOf(view.getText().toString());
+    /**
+     * Moves the indicator to the selected year among the visible years. Only redraws the views
+     * whose indicator changed, the list isn't laid out again.
+     */
+    private void updateIndicators() {
+        final int selectedYear = mController.getSelectedDay().year;
+        final int firstPosition = getFirstVisiblePosition();
+        for (int i = 0; i < getChildCount(); i++) {
+            TextViewWithCircularIndicator child = (TextViewWithCircularIndicator) getChildAt(i);
+            child.drawIndicator(mAdapter.getYear(firstPosition + i) == selectedYear);
+        }
     }
 
-    private class YearAdapter extends ArrayAdapter<String> {
+    /**
+     * Maps each position to a year by arithmetic, from the min selectable year to the max year,
+     * so no per-year item is kept.
+     */
+    private class YearAdapter extends BaseAdapter {
+        private final LayoutInflater mInflater;
+        // The range of the controller when the list was last notified of a change
+        private int mMinYear;
+        private int mMaxYear;
+
+        public YearAdapter(Context context) {
+            mInflater = LayoutInflater.from(context);
+            updateRange();
+        }
+
+        /**
+         * @return true if the range of years of the controller changed since the last call
+         */
+        public boolean updateRange() {
+            final int minYear = mController.getMinSelectableYear();
+            final int maxYear = mController.getMaxYear();
+            if (minYear == mMinYear && maxYear == mMaxYear) {
+                return false;
+            }
+            mMinYear = minYear;
+            mMaxYear = maxYear;
+            return true;
+        }
+
+        public int getYear(int position) {
+            return mMinYear + position;
+        }
+
+        public int getPosition(int year) {
+            return year - mMinYear;
+        }
+
+        @Override
+        public int getCount() {
+            return mMaxYear - mMinYear + 1;
+        }
+
+        @Override
+        public Object getItem(int position) {
+            return MonthLabels.getYearLabel(getYear(position));
+        }
+
+        @Override
+        public long getItemId(int position) {
+            return getYear(position);
+        }
 
-        public YearAdapter(Context context, int resource, List<String> objects) {
-            super(context, resource, objects);
+        @Override
+        public boolean hasStableIds() {
+            return true;
         }
 
         @Override
         public View getView(int position, View convertView, ViewGroup parent) {
-            TextViewWithCircularIndicator v = (TextViewWithCircularIndicator)
-                    super.getView(position, convertView, parent);
+            TextViewWithCircularIndicator v = (TextViewWithCircularIndicator) (convertView != null
+                    ? convertView
+                    : mInflater.inflate(R.layout.sdrp_year_label_text_view, parent, false));
+            final int year = getYear(position);
+            v.setText(MonthLabels.getYearLabel(year));
             v.setAccentColor(mAccentColor, mController.isThemeDark());
-            v.requestLayout();
-            int year = getYearFromTextView(v);
-            boolean selected = mController.getSelectedDay().year == year;
-            v.drawIndicator(selected);
-            if (selected) {
-                mSelectedView = v;
-            }
+            v.drawIndicator(mController.getSelectedDay().year == year);
             return v;
         }
+
+        @Override
+        public boolean areAllItemsEnabled() {
+            return !mController.hasSelectableDays();
+        }
+
+        @Override
+        public boolean isEnabled(int position) {
+            // Years without any selectable day can't be picked
+            return mController.hasSelectableDayInYear(getYear(position));
+        }
     }
 
     public void postSetSelectionCentered(final int position) {
@@ -150,10 +200,31 @@ public class YearPickerView extends ListView implements OnItemClickListener, Smo
         return firstChild.getTop();
     }
 
+    /**
+     * Scrolls the selected year to the middle of the list, e.g. before the list is shown.
+     */
+    public void centerSelectedYear() {
+        postSetSelectionCentered(mAdapter.getPosition(mController.getSelectedDay().year));
+    }
+
     @Override
+    public void onDateChanged(DateChangeEvent event) {
+        // The indicator only moves when the year of the start or the end date changed
+        if (event.isYearChanged()) {
+            onDateChanged();
+        }
+    }
+
+    /**
+     * Moves the indicator to the year of the selected day.
+     */
     public void onDateChanged() {
-        mAdapter.notifyDataSetChanged();
-        postSetSelectionCentered(mController.getSelectedDay().year - mController.getMinSelectableYear());
+        PickerTrace.beginSection("YearPickerView.onDateChanged");
+        try {
+            updateIndicators();
+        } finally {
+            PickerTrace.endSection();
+        }
     }
 
     @Override
@@ -166,10 +237,9 @@ public class YearPickerView extends ListView implements OnItemClickListener, Smo
     }
 
     public void refreshYearAdapter() {
-        mAdapter.clear();
-        for (int year = mController.getMinSelectableYear(); year <= mController.getMaxYear(); year++) {
-            mAdapter.add(String.format("%d", year));
+        // Only a change of the range needs the list to be laid out again
+        if (mAdapter.updateRange()) {
+            mAdapter.notifyDataSetChanged();
         }
-        mAdapter.notifyDataSetChanged();
     }
 }
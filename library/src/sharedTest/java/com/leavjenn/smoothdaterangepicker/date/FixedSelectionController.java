@@ -0,0 +1,100 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A picker that isn't shown, for driving a single picker view. It keeps one selected day of its
+ * own instead of reading it from the dialog's header, and selecting a year only moves that day.
+ * The day is reported to listeners as both the start and the end of the range.
+ *
+ * <p>A bare {@link SmoothDateRangePickerFragment} can't be used for this: its selected day is
+ * read from the header views, which only exist once the dialog is shown.
+ */
+public class FixedSelectionController extends SmoothDateRangePickerFragment {
+
+    private final List<OnDateChangedListener> mDateChangedListeners =
+            new ArrayList<OnDateChangedListener>();
+    private MonthAdapter.CalendarDay mSelectedDay;
+    private int mRangeStartEpochDay;
+    private int mRangeEndEpochDay;
+    private boolean mRangeHighlighted;
+
+    public FixedSelectionController(int year, int month, int day) {
+        initialize(null, year, month, day);
+        mSelectedDay = new MonthAdapter.CalendarDay(year, month, day);
+        mRangeStartEpochDay = getSelectedEpochDay();
+        mRangeEndEpochDay = mRangeStartEpochDay;
+    }
+
+    /**
+     * Selects and highlights the given range, so views draw its start, end and the days in between.
+     */
+    public void setSelectedRange(int startEpochDay, int endEpochDay) {
+        mRangeStartEpochDay = startEpochDay;
+        mRangeEndEpochDay = endEpochDay;
+        mRangeHighlighted = true;
+    }
+
+    @Override
+    public MonthAdapter.CalendarDay getSelectedDay() {
+        return mSelectedDay;
+    }
+
+    @Override
+    public void onYearSelected(int year) {
+        final int oldEpochDay = getSelectedEpochDay();
+        mSelectedDay = new MonthAdapter.CalendarDay(year, mSelectedDay.month, mSelectedDay.day);
+        final int epochDay = getSelectedEpochDay();
+        mRangeStartEpochDay = epochDay;
+        mRangeEndEpochDay = epochDay;
+        final DateChangeEvent event = new DateChangeEvent(oldEpochDay, oldEpochDay, epochDay,
+                epochDay);
+        for (OnDateChangedListener listener : mDateChangedListeners) {
+            listener.onDateChanged(event);
+        }
+    }
+
+    @Override
+    public int getStartEpochDay() {
+        return mRangeStartEpochDay;
+    }
+
+    @Override
+    public int getEndEpochDay() {
+        return mRangeEndEpochDay;
+    }
+
+    @Override
+    public boolean isRangeHighlighted() {
+        return mRangeHighlighted;
+    }
+
+    @Override
+    public int getHighlightedDaysInMonth(int year, int month) {
+        final int mask = super.getHighlightedDaysInMonth(year, month);
+        if (!mRangeHighlighted) {
+            return mask;
+        }
+        return mask | MonthBitmaskIndex.getRangeMask(year, month, mRangeStartEpochDay,
+                mRangeEndEpochDay);
+    }
+
+    private int getSelectedEpochDay() {
+        return EpochDay.of(mSelectedDay.year, mSelectedDay.month, mSelectedDay.day);
+    }
+
+    @Override
+    public void registerOnDateChangedListener(OnDateChangedListener listener) {
+        mDateChangedListeners.add(listener);
+    }
+
+    @Override
+    public void unregisterOnDateChangedListener(OnDateChangedListener listener) {
+        mDateChangedListeners.remove(listener);
+    }
+
+    @Override
+    public void tryVibrate() {
+    }
+}
@@ -0,0 +1,88 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Picture;
+import android.graphics.RectF;
+import android.graphics.Region;
+
+/**
+ * A canvas that only counts what is drawn on it. None of the calls reach the framework, so
+ * drawing on it allocates only what the view being drawn allocates.
+ */
+class RecordingCanvas extends Canvas {
+
+    int textCount;
+    int circleCount;
+    int shapeCount;
+    int pictureCount;
+    int clipCount;
+
+    void reset() {
+        textCount = 0;
+        circleCount = 0;
+        shapeCount = 0;
+        pictureCount = 0;
+        clipCount = 0;
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        textCount++;
+    }
+
+    @Override
+    public void drawText(char[] text, int index, int count, float x, float y, Paint paint) {
+        textCount++;
+    }
+
+    @Override
+    public void drawText(CharSequence text, int start, int end, float x, float y, Paint paint) {
+        textCount++;
+    }
+
+    @Override
+    public void drawCircle(float cx, float cy, float radius, Paint paint) {
+        circleCount++;
+    }
+
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+        shapeCount++;
+    }
+
+    @Override
+    public void drawRoundRect(RectF rect, float rx, float ry, Paint paint) {
+        shapeCount++;
+    }
+
+    @Override
+    public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+        shapeCount++;
+    }
+
+    @Override
+    public void drawPicture(Picture picture) {
+        pictureCount++;
+    }
+
+    @Override
+    public boolean clipRect(float left, float top, float right, float bottom, Region.Op op) {
+        clipCount++;
+        return true;
+    }
+
+    @Override
+    public int save() {
+        return 1;
+    }
+
+    @Override
+    public void restoreToCount(int saveCount) {
+    }
+
+    @Override
+    public boolean isHardwareAccelerated() {
+        return false;
+    }
+}
@@ -0,0 +1,73 @@
+package com.leavjenn.smoothdaterangepicker;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+
+public class UtilsTest {
+
+    private TimeZone mDefaultTimeZone;
+
+    @Before
+    public void setUp() {
+        mDefaultTimeZone = TimeZone.getDefault();
+        // Has daylight saving time over the whole range
+        TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+    }
+
+    @After
+    public void tearDown() {
+        TimeZone.setDefault(mDefaultTimeZone);
+    }
+
+    @Test
+    public void daysBetweenCountsEveryDayFrom1900To2100() {
+        final Calendar start = date(1900, Calendar.JANUARY, 1, 0, 0);
+        // Late in the day, so that a 23 hour day would be lost when dividing milliseconds
+        final Calendar end = date(1900, Calendar.JANUARY, 1, 23, 30);
+        int days = 0;
+        while (end.get(Calendar.YEAR) <= 2100) {
+            assertEquals(end.getTime().toString(), days, Utils.daysBetween(start, end));
+            assertEquals(end.getTime().toString(), -days, Utils.daysBetween(end, start));
+            end.add(Calendar.DAY_OF_MONTH, 1);
+            days++;
+        }
+        // 1900 and 2100 aren't leap years, 2000 is
+        assertEquals(201 * 365 + 49, days);
+    }
+
+    @Test
+    public void daysBetweenIgnoresDaylightSavingTime() {
+        // Clocks went forward on March 8 and back on November 1, 2015
+        assertEquals(1, Utils.daysBetween(date(2015, Calendar.MARCH, 8, 0, 30),
+                date(2015, Calendar.MARCH, 9, 0, 0)));
+        assertEquals(1, Utils.daysBetween(date(2015, Calendar.MARCH, 7, 12, 0),
+                date(2015, Calendar.MARCH, 8, 12, 0)));
+        assertEquals(1, Utils.daysBetween(date(2015, Calendar.NOVEMBER, 1, 0, 0),
+                date(2015, Calendar.NOVEMBER, 2, 0, 0)));
+        assertEquals(239, Utils.daysBetween(date(2015, Calendar.MARCH, 7, 23, 0),
+                date(2015, Calendar.NOVEMBER, 1, 0, 0)));
+    }
+
+    @Test
+    public void daysBetweenIgnoresTimeOfDayAndTimeZone() {
+        final Calendar start = date(2015, Calendar.OCTOBER, 12, 23, 59);
+        final Calendar end = Calendar.getInstance(TimeZone.getTimeZone("Pacific/Kiritimati"));
+        end.clear();
+        end.set(2015, Calendar.OCTOBER, 13, 0, 1);
+        assertEquals(1, Utils.daysBetween(start, end));
+        assertEquals(0, Utils.daysBetween(start, date(2015, Calendar.OCTOBER, 12, 0, 0)));
+    }
+
+    private static Calendar date(int year, int month, int day, int hour, int minute) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, month, day, hour, minute);
+        return calendar;
+    }
+}
@@ -0,0 +1,61 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DateChangeEventTest {
+
+    private static final int OCT_12 = EpochDay.of(2015, Calendar.OCTOBER, 12);
+    private static final int OCT_20 = EpochDay.of(2015, Calendar.OCTOBER, 20);
+    private static final int DEC_3 = EpochDay.of(2015, Calendar.DECEMBER, 3);
+    private static final int JAN_5 = EpochDay.of(2016, Calendar.JANUARY, 5);
+
+    @Test
+    public void unchangedRangeHasNoChanges() {
+        DateChangeEvent event = new DateChangeEvent(OCT_12, OCT_20, OCT_12, OCT_20);
+        assertEquals(0, event.getChangedSides());
+        assertFalse(event.hasChanges());
+        assertFalse(event.isYearChanged());
+        assertFalse(event.isMonthAffected(2015, Calendar.OCTOBER));
+    }
+
+    @Test
+    public void movedEndOnlyChangesEnd() {
+        DateChangeEvent event = new DateChangeEvent(OCT_12, OCT_20, OCT_12, DEC_3);
+        assertEquals(DateChangeEvent.SIDE_END, event.getChangedSides());
+        assertTrue(event.hasChanges());
+        assertFalse(event.isYearChanged());
+    }
+
+    @Test
+    public void movedBoundsChangeBothSides() {
+        DateChangeEvent event = new DateChangeEvent(OCT_12, OCT_20, DEC_3, JAN_5);
+        assertEquals(DateChangeEvent.SIDE_START | DateChangeEvent.SIDE_END,
+                event.getChangedSides());
+        assertTrue(event.isYearChanged());
+    }
+
+    @Test
+    public void monthsBetweenOldAndNewBoundAreAffected() {
+        DateChangeEvent event = new DateChangeEvent(OCT_12, OCT_20, OCT_12, JAN_5);
+        assertFalse(event.isMonthAffected(2015, Calendar.SEPTEMBER));
+        assertTrue(event.isMonthAffected(2015, Calendar.OCTOBER));
+        assertTrue(event.isMonthAffected(2015, Calendar.NOVEMBER));
+        assertTrue(event.isMonthAffected(2015, Calendar.DECEMBER));
+        assertTrue(event.isMonthAffected(2016, Calendar.JANUARY));
+        assertFalse(event.isMonthAffected(2016, Calendar.FEBRUARY));
+    }
+
+    @Test
+    public void monthsBetweenUnchangedBoundsAreNotAffected() {
+        DateChangeEvent event = new DateChangeEvent(OCT_12, JAN_5, OCT_20, JAN_5);
+        assertTrue(event.isMonthAffected(2015, Calendar.OCTOBER));
+        assertFalse(event.isMonthAffected(2015, Calendar.NOVEMBER));
+        assertFalse(event.isMonthAffected(2016, Calendar.JANUARY));
+    }
+}
@@ -0,0 +1,85 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.Calendar;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EpochDayCodecTest {
+
+    @Test
+    public void emptyDaysRoundTrip() {
+        assertArrayEquals(new int[0], EpochDayCodec.decode(EpochDayCodec.encode(new int[0])));
+    }
+
+    @Test
+    public void sortedDaysRoundTrip() {
+        int[] days = new int[]{
+                EpochDay.of(1900, Calendar.JANUARY, 1),
+                EpochDay.of(1969, Calendar.DECEMBER, 31),
+                EpochDay.of(1970, Calendar.JANUARY, 1),
+                EpochDay.of(1970, Calendar.JANUARY, 1),
+                EpochDay.of(2015, Calendar.OCTOBER, 12),
+                EpochDay.of(2100, Calendar.DECEMBER, 31)};
+        assertArrayEquals(days, EpochDayCodec.decode(EpochDayCodec.encode(days)));
+    }
+
+    @Test
+    public void unsortedAndExtremeDaysRoundTrip() {
+        int[] days = new int[]{EpochDay.MAX, EpochDay.MIN, 0, -1, 1, EpochDay.MIN, EpochDay.MAX};
+        assertArrayEquals(days, EpochDayCodec.decode(EpochDayCodec.encode(days)));
+    }
+
+    @Test
+    public void consecutiveDaysTakeOneByteEach() {
+        int[] days = new int[1000];
+        final int first = EpochDay.of(2015, Calendar.JANUARY, 1);
+        for (int i = 0; i < days.length; i++) {
+            days[i] = first + i;
+        }
+        // Count and first day are 2 and 3 bytes
+        assertEquals(2 + 3 + days.length - 1, EpochDayCodec.encode(days).length);
+    }
+
+    @Test
+    public void savedStateSizes() throws IOException {
+        // The days of StateEncodingBenchmark, with the bytes taken by their count
+        assertSavedStateSize(1000, 2);
+        assertSavedStateSize(10000, 2);
+        assertSavedStateSize(100000, 3);
+    }
+
+    private static void assertSavedStateSize(int dayCount, int countBytes) throws IOException {
+        // Every other day, as when each weekday or each working day is selectable
+        int[] days = new int[dayCount];
+        final int first = EpochDay.of(2000, Calendar.JANUARY, 1);
+        for (int i = 0; i < dayCount; i++) {
+            days[i] = first + i * 2;
+        }
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(serialized);
+        out.writeObject(EpochDay.toCalendars(days));
+        out.close();
+        final int encodedSize = EpochDayCodec.encode(days).length;
+        System.out.println(dayCount + " days: serialized " + serialized.size()
+                + " bytes, encoded " + encodedSize + " bytes");
+
+        // The first day takes 3 bytes, every later day 1
+        assertEquals(countBytes + 3 + dayCount - 1, encodedSize);
+        assertTrue(encodedSize * 100 < serialized.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void truncatedBytesAreRejected() {
+        byte[] bytes = EpochDayCodec.encode(new int[]{1, 2, 3});
+        byte[] truncated = new byte[bytes.length - 1];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+        EpochDayCodec.decode(truncated);
+    }
+}
@@ -0,0 +1,140 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class EpochDayTest {
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    private TimeZone mDefaultTimeZone;
+
+    @Before
+    public void setUp() {
+        mDefaultTimeZone = TimeZone.getDefault();
+    }
+
+    @After
+    public void tearDown() {
+        TimeZone.setDefault(mDefaultTimeZone);
+    }
+
+    private static Calendar utcCalendar() {
+        Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        calendar.clear();
+        return calendar;
+    }
+
+    @Test
+    public void everyDayMatchesCalendar() {
+        // 1899 to 2101 covers negative days and the leap centuries 1900, 2000 and 2100
+        Calendar calendar = utcCalendar();
+        calendar.set(1899, Calendar.JANUARY, 1);
+        while (calendar.get(Calendar.YEAR) <= 2101) {
+            final int epochDay = (int) (calendar.getTimeInMillis() / MILLIS_PER_DAY);
+            final int year = calendar.get(Calendar.YEAR);
+            final int month = calendar.get(Calendar.MONTH);
+            final String date = year + "-" + (month + 1) + "-" + calendar.get(Calendar.DAY_OF_MONTH);
+
+            assertEquals(date, epochDay, EpochDay.of(year, month,
+                    calendar.get(Calendar.DAY_OF_MONTH)));
+            assertEquals(date, epochDay, EpochDay.of(calendar));
+            assertEquals(date, year, EpochDay.getYear(epochDay));
+            assertEquals(date, month, EpochDay.getMonth(epochDay));
+            assertEquals(date, calendar.get(Calendar.DAY_OF_MONTH),
+                    EpochDay.getDayOfMonth(epochDay));
+            assertEquals(date, calendar.get(Calendar.DAY_OF_WEEK), EpochDay.getDayOfWeek(epochDay));
+            assertEquals(date, calendar.getActualMaximum(Calendar.DAY_OF_MONTH),
+                    EpochDay.getDaysInMonth(year, month));
+            calendar.add(Calendar.DAY_OF_MONTH, 1);
+        }
+    }
+
+    @Test
+    public void epochStartsOn1970() {
+        assertEquals(0, EpochDay.of(1970, Calendar.JANUARY, 1));
+        assertEquals(-1, EpochDay.of(1969, Calendar.DECEMBER, 31));
+        assertEquals(1969, EpochDay.getYear(-1));
+        assertEquals(Calendar.DECEMBER, EpochDay.getMonth(-1));
+        assertEquals(31, EpochDay.getDayOfMonth(-1));
+        assertEquals(Calendar.WEDNESDAY, EpochDay.getDayOfWeek(-1));
+        assertEquals(Calendar.THURSDAY, EpochDay.getDayOfWeek(0));
+    }
+
+    @Test
+    public void leapCenturies() {
+        assertFalse(EpochDay.isLeapYear(1900));
+        assertTrue(EpochDay.isLeapYear(2000));
+        assertFalse(EpochDay.isLeapYear(2100));
+        assertEquals(28, EpochDay.getDaysInMonth(1900, Calendar.FEBRUARY));
+        assertEquals(29, EpochDay.getDaysInMonth(2000, Calendar.FEBRUARY));
+        assertEquals(28, EpochDay.getDaysInMonth(2100, Calendar.FEBRUARY));
+        assertEquals(EpochDay.of(1900, Calendar.MARCH, 1),
+                EpochDay.of(1900, Calendar.FEBRUARY, 28) + 1);
+        assertEquals(EpochDay.of(2000, Calendar.MARCH, 1),
+                EpochDay.of(2000, Calendar.FEBRUARY, 29) + 1);
+        assertEquals(EpochDay.of(2100, Calendar.MARCH, 1),
+                EpochDay.of(2100, Calendar.FEBRUARY, 28) + 1);
+    }
+
+    @Test
+    public void ofCalendarUsesLocalDateOutsideUtc() {
+        // Kiritimati is 14 hours ahead of UTC, so late evening there is still the same local day
+        Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone("Pacific/Kiritimati"));
+        calendar.clear();
+        calendar.set(2015, Calendar.OCTOBER, 12, 23, 30);
+        assertEquals(EpochDay.of(2015, Calendar.OCTOBER, 12), EpochDay.of(calendar));
+
+        calendar = new GregorianCalendar(TimeZone.getTimeZone("America/Los_Angeles"));
+        calendar.clear();
+        calendar.set(1969, Calendar.DECEMBER, 31, 23, 30);
+        assertEquals(-1, EpochDay.of(calendar));
+    }
+
+    @Test
+    public void toCalendarsOutsideUtc() {
+        TimeZone.setDefault(TimeZone.getTimeZone("America/Los_Angeles"));
+        final int[] days = new int[]{
+                EpochDay.of(1900, Calendar.FEBRUARY, 28),
+                -1,
+                0,
+                EpochDay.of(2000, Calendar.FEBRUARY, 29),
+                EpochDay.of(2100, Calendar.MARCH, 1)};
+        Calendar[] calendars = EpochDay.toCalendars(days);
+        assertEquals(days.length, calendars.length);
+        for (int i = 0; i < days.length; i++) {
+            assertEquals(TimeZone.getDefault(), calendars[i].getTimeZone());
+            assertEquals(EpochDay.getYear(days[i]), calendars[i].get(Calendar.YEAR));
+            assertEquals(EpochDay.getMonth(days[i]), calendars[i].get(Calendar.MONTH));
+            assertEquals(EpochDay.getDayOfMonth(days[i]), calendars[i].get(Calendar.DAY_OF_MONTH));
+        }
+        assertArrayEquals(days, EpochDay.of(calendars));
+    }
+
+    @Test
+    public void ofCalendarsSortsDays() {
+        Calendar late = Calendar.getInstance();
+        late.set(2015, Calendar.OCTOBER, 20);
+        Calendar early = Calendar.getInstance();
+        early.set(1969, Calendar.DECEMBER, 31);
+        assertArrayEquals(new int[]{-1, EpochDay.of(2015, Calendar.OCTOBER, 20)},
+                EpochDay.of(new Calendar[]{late, early}));
+    }
+
+    @Test
+    public void nullArrays() {
+        assertNull(EpochDay.of((Calendar[]) null));
+        assertNull(EpochDay.toCalendars(null));
+    }
+}
@@ -0,0 +1,140 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import java.util.Calendar;
+
+/**
+ * A controller whose state is set directly by tests.
+ */
+class FakeController implements SmoothDateRangePickerController {
+
+    int startEpochDay = EpochDay.of(2015, Calendar.OCTOBER, 12);
+    int endEpochDay = startEpochDay;
+    int minSelectableEpochDay = EpochDay.MIN;
+    int maxEpochDay = EpochDay.MAX;
+    boolean rangeHighlighted;
+    int minYear = 1900;
+    int maxYear = 2100;
+
+    @Override
+    public void onYearSelected(int year) {
+    }
+
+    @Override
+    public void onDayOfMonthSelected(int year, int month, int day) {
+    }
+
+    @Override
+    public void onDurationChanged(int duration) {
+    }
+
+    @Override
+    public void registerOnDateChangedListener(
+            SmoothDateRangePickerFragment.OnDateChangedListener listener) {
+    }
+
+    @Override
+    public void unregisterOnDateChangedListener(
+            SmoothDateRangePickerFragment.OnDateChangedListener listener) {
+    }
+
+    @Override
+    public MonthAdapter.CalendarDay getSelectedDay() {
+        return new MonthAdapter.CalendarDay(EpochDay.getYear(startEpochDay),
+                EpochDay.getMonth(startEpochDay), EpochDay.getDayOfMonth(startEpochDay));
+    }
+
+    @Override
+    public boolean isThemeDark() {
+        return false;
+    }
+
+    @Override
+    public boolean isMonthRenderCacheEnabled() {
+        return false;
+    }
+
+    @Override
+    public boolean isMonthTitlePrefetchEnabled() {
+        return false;
+    }
+
+    @Override
+    public int getHighlightedDaysInMonth(int year, int month) {
+        return rangeHighlighted
+                ? MonthBitmaskIndex.getRangeMask(year, month, startEpochDay, endEpochDay) : 0;
+    }
+
+    @Override
+    public boolean hasSelectableDays() {
+        return false;
+    }
+
+    @Override
+    public boolean isSelectableDay(int epochDay) {
+        return true;
+    }
+
+    @Override
+    public boolean hasSelectableDayInYear(int year) {
+        return true;
+    }
+
+    @Override
+    public int getFirstDayOfWeek() {
+        return Calendar.SUNDAY;
+    }
+
+    @Override
+    public MonthLayoutTable getMonthLayoutTable() {
+        return null;
+    }
+
+    @Override
+    public int getMinYear() {
+        return minYear;
+    }
+
+    @Override
+    public int getMinSelectableYear() {
+        return minYear;
+    }
+
+    @Override
+    public int getMaxYear() {
+        return maxYear;
+    }
+
+    @Override
+    public int getMinSelectableEpochDay() {
+        return minSelectableEpochDay;
+    }
+
+    @Override
+    public int getMaxEpochDay() {
+        return maxEpochDay;
+    }
+
+    @Override
+    public int getStartEpochDay() {
+        return startEpochDay;
+    }
+
+    @Override
+    public int getEndEpochDay() {
+        return endEpochDay;
+    }
+
+    @Override
+    public SmoothDateRangePickerFragment.PickerMetricsListener getMetricsListener() {
+        return null;
+    }
+
+    @Override
+    public boolean isRangeHighlighted() {
+        return rangeHighlighted;
+    }
+
+    @Override
+    public void tryVibrate() {
+    }
+}
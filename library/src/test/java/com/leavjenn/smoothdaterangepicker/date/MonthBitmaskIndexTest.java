@@ -0,0 +1,114 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MonthBitmaskIndexTest {
+
+    private static int mask(int... days) {
+        int mask = 0;
+        for (int day : days) {
+            mask |= 1 << day;
+        }
+        return mask;
+    }
+
+    @Test
+    public void nullDaysHaveNoIndex() {
+        assertNull(MonthBitmaskIndex.of(null));
+    }
+
+    @Test
+    public void emptyIndexHasNoDays() {
+        MonthBitmaskIndex index = MonthBitmaskIndex.of(new int[0]);
+        assertEquals(0, index.getMask(2015, Calendar.OCTOBER));
+        assertFalse(index.contains(1970, Calendar.JANUARY, 1));
+    }
+
+    @Test
+    public void daysAreIndexedByMonth() {
+        MonthBitmaskIndex index = MonthBitmaskIndex.of(new int[]{
+                EpochDay.of(1969, Calendar.DECEMBER, 31),
+                EpochDay.of(2015, Calendar.OCTOBER, 1),
+                EpochDay.of(2015, Calendar.OCTOBER, 31),
+                EpochDay.of(2015, Calendar.NOVEMBER, 30)});
+        assertEquals(mask(31), index.getMask(1969, Calendar.DECEMBER));
+        assertEquals(mask(1, 31), index.getMask(2015, Calendar.OCTOBER));
+        assertEquals(mask(30), index.getMask(2015, Calendar.NOVEMBER));
+        assertEquals(0, index.getMask(2015, Calendar.SEPTEMBER));
+        assertTrue(index.contains(2015, Calendar.OCTOBER, 31));
+        assertFalse(index.contains(2015, Calendar.OCTOBER, 30));
+    }
+
+    @Test
+    public void duplicateAndUnsortedDays() {
+        final int[] days = new int[]{
+                EpochDay.of(2015, Calendar.OCTOBER, 20),
+                EpochDay.of(2014, Calendar.OCTOBER, 20),
+                EpochDay.of(2015, Calendar.OCTOBER, 20),
+                EpochDay.of(2015, Calendar.OCTOBER, 3),
+                EpochDay.of(2014, Calendar.OCTOBER, 20)};
+        final int[] copy = days.clone();
+        MonthBitmaskIndex index = MonthBitmaskIndex.of(days);
+        assertEquals(mask(3, 20), index.getMask(2015, Calendar.OCTOBER));
+        assertEquals(mask(20), index.getMask(2014, Calendar.OCTOBER));
+        // The caller's array is left as it was
+        assertEquals(copy[0], days[0]);
+        assertEquals(copy[1], days[1]);
+    }
+
+    @Test
+    public void rangeEndingOnDay31SetsSignBit() {
+        final int mask = MonthBitmaskIndex.getRangeMask(2015, Calendar.OCTOBER,
+                EpochDay.of(2015, Calendar.OCTOBER, 30), EpochDay.of(2015, Calendar.OCTOBER, 31));
+        assertEquals(mask(30, 31), mask);
+        assertTrue(mask < 0);
+    }
+
+    @Test
+    public void wholeMonthRange() {
+        assertEquals(mask(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20,
+                21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31),
+                MonthBitmaskIndex.getRangeMask(2015, Calendar.OCTOBER, EpochDay.MIN, EpochDay.MAX));
+        assertEquals(mask(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20,
+                21, 22, 23, 24, 25, 26, 27, 28),
+                MonthBitmaskIndex.getRangeMask(2100, Calendar.FEBRUARY, EpochDay.MIN, EpochDay.MAX));
+    }
+
+    @Test
+    public void rangeAcrossMonths() {
+        final int first = EpochDay.of(2015, Calendar.SEPTEMBER, 29);
+        final int last = EpochDay.of(2015, Calendar.NOVEMBER, 2);
+        assertEquals(mask(29, 30), MonthBitmaskIndex.getRangeMask(2015, Calendar.SEPTEMBER,
+                first, last));
+        assertEquals(MonthBitmaskIndex.getRangeMask(2015, Calendar.OCTOBER, EpochDay.MIN,
+                EpochDay.MAX), MonthBitmaskIndex.getRangeMask(2015, Calendar.OCTOBER, first, last));
+        assertEquals(mask(1, 2), MonthBitmaskIndex.getRangeMask(2015, Calendar.NOVEMBER,
+                first, last));
+        assertEquals(0, MonthBitmaskIndex.getRangeMask(2015, Calendar.DECEMBER, first, last));
+    }
+
+    @Test
+    public void rangeAcrossYears() {
+        final int first = EpochDay.of(1969, Calendar.DECEMBER, 31);
+        final int last = EpochDay.of(1970, Calendar.JANUARY, 1);
+        assertEquals(mask(31), MonthBitmaskIndex.getRangeMask(1969, Calendar.DECEMBER,
+                first, last));
+        assertEquals(mask(1), MonthBitmaskIndex.getRangeMask(1970, Calendar.JANUARY,
+                first, last));
+        assertEquals(0, MonthBitmaskIndex.getRangeMask(1970, Calendar.DECEMBER, first, last));
+    }
+
+    @Test
+    public void emptyRange() {
+        final int day = EpochDay.of(2015, Calendar.OCTOBER, 12);
+        assertEquals(0, MonthBitmaskIndex.getRangeMask(2015, Calendar.OCTOBER, day, day - 1));
+        assertEquals(mask(12), MonthBitmaskIndex.getRangeMask(2015, Calendar.OCTOBER, day, day));
+    }
+}
@@ -0,0 +1,91 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class MonthLabelsTest {
+
+    private Locale mDefaultLocale;
+
+    @Before
+    public void setUp() {
+        mDefaultLocale = Locale.getDefault();
+    }
+
+    @After
+    public void tearDown() {
+        Locale.setDefault(mDefaultLocale);
+    }
+
+    @Test
+    public void dayNumbersMatchStringFormat() {
+        Locale.setDefault(Locale.US);
+        for (int day = 1; day <= 31; day++) {
+            assertEquals(String.format("%d", day), MonthLabels.getDayNumber(day));
+        }
+    }
+
+    @Test
+    public void dayNumbersAreReused() {
+        Locale.setDefault(Locale.US);
+        assertSame(MonthLabels.getDayNumber(17), MonthLabels.getDayNumber(17));
+    }
+
+    @Test
+    public void dayNumbersFollowLocaleChange() {
+        Locale.setDefault(Locale.US);
+        assertEquals("25", MonthLabels.getDayNumber(25));
+        Locale.setDefault(new Locale("th", "TH", "TH"));
+        assertEquals("\u0e52\u0e55", MonthLabels.getDayNumber(25));
+        Locale.setDefault(Locale.US);
+        assertEquals("25", MonthLabels.getDayNumber(25));
+    }
+
+    @Test
+    public void yearLabelsMatchStringFormat() {
+        Locale.setDefault(Locale.US);
+        for (int year = 1900; year <= 2100; year++) {
+            assertEquals(String.format("%d", year), MonthLabels.getYearLabel(year));
+        }
+    }
+
+    @Test
+    public void yearLabelsAreReused() {
+        Locale.setDefault(Locale.US);
+        assertSame(MonthLabels.getYearLabel(2015), MonthLabels.getYearLabel(2015));
+    }
+
+    @Test
+    public void yearLabelsFollowLocaleChange() {
+        Locale.setDefault(Locale.US);
+        assertEquals("2015", MonthLabels.getYearLabel(2015));
+        Locale.setDefault(new Locale("th", "TH", "TH"));
+        assertEquals("\u0e52\u0e50\u0e51\u0e55", MonthLabels.getYearLabel(2015));
+        Locale.setDefault(Locale.US);
+        assertEquals("2015", MonthLabels.getYearLabel(2015));
+    }
+
+    @Test
+    public void weekdayLabelsAreFirstLetters() {
+        Locale.setDefault(Locale.US);
+        assertEquals("S", MonthLabels.getWeekdayLabel(Calendar.SUNDAY));
+        assertEquals("M", MonthLabels.getWeekdayLabel(Calendar.MONDAY));
+        assertEquals("T", MonthLabels.getWeekdayLabel(Calendar.THURSDAY));
+        assertEquals("S", MonthLabels.getWeekdayLabel(Calendar.SATURDAY));
+    }
+
+    @Test
+    public void weekdayLabelsFollowLocaleChange() {
+        Locale.setDefault(Locale.US);
+        assertEquals("W", MonthLabels.getWeekdayLabel(Calendar.WEDNESDAY));
+        Locale.setDefault(Locale.FRANCE);
+        assertEquals("M", MonthLabels.getWeekdayLabel(Calendar.WEDNESDAY));
+    }
+}
@@ -0,0 +1,58 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MonthLayoutTableTest {
+
+    @Test
+    public void tableMatchesCalendarFrom1900To2100() {
+        Calendar calendar = Calendar.getInstance();
+        for (int weekStart = Calendar.SUNDAY; weekStart <= Calendar.SATURDAY; weekStart++) {
+            MonthLayoutTable table = MonthLayoutTable.of(1900, 2100, weekStart);
+            for (int year = 1900; year <= 2100; year++) {
+                for (int month = Calendar.JANUARY; month <= Calendar.DECEMBER; month++) {
+                    calendar.clear();
+                    calendar.set(year, month, 1);
+                    final int offset = MonthGrid.findDayOffset(
+                            calendar.get(Calendar.DAY_OF_WEEK), weekStart, 7);
+                    final int days = calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
+                    final String what = year + "-" + (month + 1) + " week start " + weekStart;
+                    assertEquals(what, offset, table.getDayOffset(year, month));
+                    assertEquals(what, days, table.getDaysInMonth(year, month));
+                    assertEquals(what, MonthGrid.calculateNumRows(offset, days, 7),
+                            table.getNumRows(year, month));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void knownMonths() {
+        MonthLayoutTable table = MonthLayoutTable.of(2015, 2016, Calendar.SUNDAY);
+        // February 2015 starts on a Sunday and fills exactly four weeks
+        assertEquals(0, table.getDayOffset(2015, Calendar.FEBRUARY));
+        assertEquals(28, table.getDaysInMonth(2015, Calendar.FEBRUARY));
+        assertEquals(4, table.getNumRows(2015, Calendar.FEBRUARY));
+        // October 2016 starts on a Saturday and spills into a sixth week
+        assertEquals(6, table.getDayOffset(2016, Calendar.OCTOBER));
+        assertEquals(31, table.getDaysInMonth(2016, Calendar.OCTOBER));
+        assertEquals(6, table.getNumRows(2016, Calendar.OCTOBER));
+        assertEquals(29, table.getDaysInMonth(2016, Calendar.FEBRUARY));
+    }
+
+    @Test
+    public void coversOnlyItsYearsAndWeekStart() {
+        MonthLayoutTable table = MonthLayoutTable.of(1990, 2010, Calendar.MONDAY);
+        assertTrue(table.covers(1990, 2010, Calendar.MONDAY));
+        assertTrue(table.contains(2000, Calendar.MONDAY));
+        assertFalse(table.contains(1989, Calendar.MONDAY));
+        assertFalse(table.contains(2011, Calendar.MONDAY));
+        assertFalse(table.contains(2000, Calendar.SUNDAY));
+    }
+}
@@ -0,0 +1,160 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import android.app.Activity;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+
+import com.leavjenn.smoothdaterangepicker.BuildConfig;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that selection changes reach the bound months as payload binds, and that months keep
+ * their ids.
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class MonthRecyclerAdapterTest {
+
+    private static final int YEAR = 2015;
+    private static final int MONTH = Calendar.OCTOBER;
+
+    private FixedSelectionController mController;
+    private MonthRecyclerAdapter mAdapter;
+    private RecyclerView mParent;
+    private int mPosition;
+    private int mBindCount;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.setupActivity(Activity.class);
+        mController = new FixedSelectionController(YEAR, MONTH, 12);
+        mController.setPickerMetricsListener(new SmoothDateRangePickerFragment.PickerMetricsListener() {
+            @Override
+            public void onDialogOpened(long nanos) {
+            }
+
+            @Override
+            public void onMonthDrawn(int year, int month, long nanos) {
+            }
+
+            @Override
+            public void onMonthBound(int year, int month, long nanos) {
+                mBindCount++;
+            }
+
+            @Override
+            public void onSelectionChanged(int count) {
+            }
+
+            @Override
+            public void onFlingFrames(int frames, int droppedFrames) {
+            }
+        });
+        mAdapter = new MonthRecyclerAdapter(activity, mController);
+        mParent = new RecyclerView(activity);
+        mParent.setLayoutManager(new LinearLayoutManager(activity));
+        mPosition = (YEAR - mController.getMinSelectableYear()) * 12 + MONTH;
+    }
+
+    @Test
+    public void idsAreYearAndMonth() {
+        assertTrue(mAdapter.hasStableIds());
+        final int minYear = mController.getMinSelectableYear();
+        assertEquals(minYear * 12, mAdapter.getItemId(0));
+        assertEquals(YEAR * 12 + MONTH, mAdapter.getItemId(mPosition));
+        final int last = mAdapter.getItemCount() - 1;
+        assertEquals(mController.getMaxYear() * 12 + 11, mAdapter.getItemId(last));
+    }
+
+    @Test
+    public void idsSurviveSelectionChange() {
+        mAdapter.setSelectedDay(new MonthAdapter.CalendarDay(YEAR, MONTH + 1, 3));
+        assertEquals(YEAR * 12 + MONTH, mAdapter.getItemId(mPosition));
+        assertEquals(YEAR * 12 + MONTH + 1, mAdapter.getItemId(mPosition + 1));
+    }
+
+    @Test
+    public void idsSurviveMinYearChange() {
+        Calendar minDate = Calendar.getInstance();
+        minDate.set(YEAR - 1, Calendar.MARCH, 1);
+        mController.setMinDate(minDate);
+        mAdapter.notifyMonthsChanged();
+
+        // The month moved to another position but kept its id
+        final int position = 12 + MONTH;
+        assertEquals(YEAR * 12 + MONTH, mAdapter.getItemId(position));
+        assertEquals((YEAR - 1) * 12, mAdapter.getItemId(0));
+    }
+
+    @Test
+    public void selectionChangeNotifiesOnlyChangedMonths() {
+        final List<int[]> changes = new ArrayList<int[]>();
+        mAdapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onChanged() {
+                changes.add(new int[]{-1, -1});
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+                assertSame(MonthRecyclerAdapter.PAYLOAD_SELECTION, payload);
+                changes.add(new int[]{positionStart, itemCount});
+            }
+        });
+
+        mAdapter.setSelectedDay(new MonthAdapter.CalendarDay(YEAR, MONTH + 1, 3));
+
+        // The month losing the selected day, then the month gaining it
+        assertEquals(2, changes.size());
+        assertEquals(mPosition, changes.get(0)[0]);
+        assertEquals(1, changes.get(0)[1]);
+        assertEquals(mPosition + 1, changes.get(1)[0]);
+        assertEquals(1, changes.get(1)[1]);
+    }
+
+    @Test
+    public void payloadBindOnlyUpdatesSelectedDay() {
+        MonthRecyclerAdapter.MonthViewHolder holder = mAdapter.onCreateViewHolder(mParent, 0);
+        mAdapter.onBindViewHolder(holder, mPosition, Collections.emptyList());
+        assertEquals(1, mBindCount);
+        assertEquals(12, holder.monthView.mSelectedDay);
+
+        mAdapter.setSelectedDay(new MonthAdapter.CalendarDay(YEAR, MONTH, 20));
+        mAdapter.onBindViewHolder(holder, mPosition,
+                Collections.singletonList(MonthRecyclerAdapter.PAYLOAD_SELECTION));
+        assertEquals(1, mBindCount);
+        assertEquals(YEAR, holder.monthView.getYear());
+        assertEquals(MONTH, holder.monthView.getMonth());
+        assertEquals(20, holder.monthView.mSelectedDay);
+
+        mAdapter.setSelectedDay(new MonthAdapter.CalendarDay(YEAR, MONTH + 1, 3));
+        mAdapter.onBindViewHolder(holder, mPosition,
+                Collections.singletonList(MonthRecyclerAdapter.PAYLOAD_SELECTION));
+        assertEquals(-1, holder.monthView.mSelectedDay);
+    }
+
+    @Test
+    public void bindWithoutPayloadBindsMonthAgain() {
+        MonthRecyclerAdapter.MonthViewHolder holder = mAdapter.onCreateViewHolder(mParent, 0);
+        mAdapter.onBindViewHolder(holder, mPosition, Collections.emptyList());
+        mAdapter.onBindViewHolder(holder, mPosition + 1, Collections.emptyList());
+        assertEquals(2, mBindCount);
+        assertEquals(MONTH + 1, holder.monthView.getMonth());
+        assertEquals(-1, holder.monthView.mSelectedDay);
+    }
+}
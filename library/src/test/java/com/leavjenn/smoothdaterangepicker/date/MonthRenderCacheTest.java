@@ -0,0 +1,157 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import android.app.Activity;
+import android.graphics.Picture;
+import android.support.v4.util.LruCache;
+import android.view.View;
+
+import com.leavjenn.smoothdaterangepicker.BuildConfig;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks when a month view records its static layer and when it replays the cached one.
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class MonthRenderCacheTest {
+
+    private static final int YEAR = 2015;
+    private static final int MONTH = Calendar.OCTOBER;
+    private static final int WIDTH = 1080;
+
+    private FixedSelectionController mController;
+    private SimpleMonthView mView;
+    private RecordingCanvas mCanvas;
+    private LruCache<?, Picture> mCache;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.setupActivity(Activity.class);
+        mController = new FixedSelectionController(YEAR, MONTH, 12);
+        mController.setMonthRenderCacheEnabled(true);
+        mView = new SimpleMonthView(activity, null, mController);
+        mView.setMonthParams(YEAR, MONTH, 12, Calendar.SUNDAY);
+        layout(WIDTH);
+        mCanvas = new RecordingCanvas();
+        mCache = MonthView.getRenderCache();
+        mCache.evictAll();
+    }
+
+    private void layout(int width) {
+        mView.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+        mView.layout(0, 0, mView.getMeasuredWidth(), mView.getMeasuredHeight());
+    }
+
+    private void draw() {
+        mCanvas.reset();
+        mView.onDraw(mCanvas);
+    }
+
+    @Test
+    public void firstDrawRecordsLayer() {
+        final int puts = mCache.putCount();
+        draw();
+        assertEquals(puts + 1, mCache.putCount());
+        assertEquals(1, mCanvas.pictureCount);
+    }
+
+    @Test
+    public void redrawHitsCache() {
+        draw();
+        final int puts = mCache.putCount();
+        final int hits = mCache.hitCount();
+        draw();
+        assertEquals(puts, mCache.putCount());
+        assertEquals(hits + 1, mCache.hitCount());
+    }
+
+    @Test
+    public void selectionChangeHitsCache() {
+        draw();
+        final int puts = mCache.putCount();
+        mController.setSelectedRange(EpochDay.of(YEAR, MONTH, 5), EpochDay.of(YEAR, MONTH, 9));
+        mView.setSelectedDay(5);
+        draw();
+        assertEquals(puts, mCache.putCount());
+    }
+
+    @Test
+    public void selectedDaysAreDrawnOverLayer() {
+        // Oct 2015 starts on a Thursday, so the 12th to the 24th fill two rows from Monday
+        mController.setSelectedRange(EpochDay.of(YEAR, MONTH, 12), EpochDay.of(YEAR, MONTH, 24));
+        draw();
+        assertEquals(1, mCanvas.pictureCount);
+        assertEquals(2, mCanvas.clipCount);
+        assertEquals(24 - 12 + 1, mCanvas.textCount);
+    }
+
+    @Test
+    public void disabledDaysAreDrawnOverLayer() {
+        Calendar minDate = Calendar.getInstance();
+        minDate.set(YEAR, MONTH, 3);
+        mController.setMinDate(minDate);
+        draw();
+        // The 1st to the 3rd are out of range, the 12th is selected
+        assertEquals(2, mCanvas.clipCount);
+        assertEquals(3 + 1, mCanvas.textCount);
+    }
+
+    @Test
+    public void otherMonthMissesCache() {
+        draw();
+        final int puts = mCache.putCount();
+        mView.setMonthParams(YEAR, MONTH + 1, -1, Calendar.SUNDAY);
+        layout(WIDTH);
+        draw();
+        assertEquals(puts + 1, mCache.putCount());
+    }
+
+    @Test
+    public void otherWeekStartMissesCache() {
+        draw();
+        final int puts = mCache.putCount();
+        mView.setMonthParams(YEAR, MONTH, 12, Calendar.MONDAY);
+        draw();
+        assertEquals(puts + 1, mCache.putCount());
+    }
+
+    @Test
+    public void sizeChangeInvalidatesLayer() {
+        draw();
+        final int puts = mCache.putCount();
+        layout(WIDTH / 2);
+        draw();
+        assertEquals(puts + 1, mCache.putCount());
+    }
+
+    @Test
+    public void accentColorChangeInvalidatesLayer() {
+        draw();
+        final int puts = mCache.putCount();
+        mView.setAccentColor(0xff00ff00);
+        draw();
+        assertEquals(puts + 1, mCache.putCount());
+    }
+
+    @Test
+    public void disabledCacheDrawsEverything() {
+        mController.setMonthRenderCacheEnabled(false);
+        final int puts = mCache.putCount();
+        draw();
+        assertEquals(puts, mCache.putCount());
+        assertEquals(0, mCanvas.pictureCount);
+        // Title, weekday labels and day numbers
+        assertEquals(1 + 7 + 31, mCanvas.textCount);
+    }
+}
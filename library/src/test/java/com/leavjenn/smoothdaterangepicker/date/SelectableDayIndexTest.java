@@ -0,0 +1,118 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SelectableDayIndexTest {
+
+    private static final int FIRST_DAY = EpochDay.of(1969, Calendar.DECEMBER, 1);
+
+    /**
+     * Checks every day from a month before the first given day to a month after the last one
+     * against a set of the given days.
+     */
+    private static void assertMatchesSet(int[] days) {
+        Set<Integer> expected = new HashSet<Integer>();
+        int first = Integer.MAX_VALUE;
+        int last = Integer.MIN_VALUE;
+        for (int day : days) {
+            expected.add(day);
+            first = Math.min(first, day);
+            last = Math.max(last, day);
+        }
+        SelectableDayIndex index = SelectableDayIndex.of(days);
+        assertEquals(first, index.getFirstDay());
+        assertEquals(last, index.getLastDay());
+        Set<Integer> years = new HashSet<Integer>();
+        for (int day = first - 31; day <= last + 31; day++) {
+            assertEquals("Day " + day, expected.contains(day), index.contains(day));
+            if (expected.contains(day)) {
+                years.add(EpochDay.getYear(day));
+            }
+        }
+        for (int year = EpochDay.getYear(first) - 1; year <= EpochDay.getYear(last) + 1; year++) {
+            assertEquals("Year " + year, years.contains(year), index.hasDayInYear(year));
+        }
+    }
+
+    @Test
+    public void nullDaysHaveNoIndex() {
+        assertNull(SelectableDayIndex.of(null));
+    }
+
+    @Test
+    public void emptyIndex() {
+        SelectableDayIndex index = SelectableDayIndex.of(new int[0]);
+        assertTrue(index.isEmpty());
+        assertFalse(index.contains(0));
+        assertFalse(index.contains(EpochDay.MIN));
+        assertFalse(index.hasDayInYear(1970));
+    }
+
+    @Test
+    public void singleDay() {
+        assertMatchesSet(new int[]{FIRST_DAY});
+    }
+
+    @Test
+    public void adjacentDaysMergeIntoOneRun() {
+        assertMatchesSet(new int[]{FIRST_DAY, FIRST_DAY + 1, FIRST_DAY + 2, FIRST_DAY + 4});
+    }
+
+    @Test
+    public void duplicateAndOverlappingDays() {
+        assertMatchesSet(new int[]{FIRST_DAY, FIRST_DAY, FIRST_DAY + 1, FIRST_DAY + 1,
+                FIRST_DAY + 3, FIRST_DAY + 3});
+    }
+
+    @Test
+    public void unsortedDays() {
+        assertMatchesSet(new int[]{FIRST_DAY + 40, FIRST_DAY, FIRST_DAY + 41, FIRST_DAY - 400,
+                FIRST_DAY + 1, FIRST_DAY});
+    }
+
+    @Test
+    public void runsAcrossYears() {
+        // The first and last day of every year from 1969 to 2100
+        int[] days = new int[2 * (2100 - 1969 + 1)];
+        for (int year = 1969; year <= 2100; year++) {
+            days[2 * (year - 1969)] = EpochDay.of(year, Calendar.JANUARY, 1);
+            days[2 * (year - 1969) + 1] = EpochDay.of(year, Calendar.DECEMBER, 31);
+        }
+        assertMatchesSet(days);
+    }
+
+    @Test
+    public void yearsAtBothEnds() {
+        SelectableDayIndex index = SelectableDayIndex.of(new int[]{
+                EpochDay.of(1900, Calendar.DECEMBER, 31),
+                EpochDay.of(2100, Calendar.JANUARY, 1)});
+        assertTrue(index.hasDayInYear(1900));
+        assertTrue(index.hasDayInYear(2100));
+        assertFalse(index.hasDayInYear(1899));
+        assertFalse(index.hasDayInYear(1901));
+        assertFalse(index.hasDayInYear(2099));
+        assertFalse(index.hasDayInYear(2101));
+    }
+
+    @Test
+    public void randomDays() {
+        Random random = new Random(20151012);
+        for (int i = 0; i < 20; i++) {
+            int[] days = new int[random.nextInt(200) + 1];
+            for (int j = 0; j < days.length; j++) {
+                days[j] = FIRST_DAY + random.nextInt(400);
+            }
+            assertMatchesSet(days);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SelectionDiffTest {
+
+    private static final int OCT_12 = EpochDay.of(2015, Calendar.OCTOBER, 12);
+    private static final int OCT_20 = EpochDay.of(2015, Calendar.OCTOBER, 20);
+    private static final int DEC_3 = EpochDay.of(2015, Calendar.DECEMBER, 3);
+
+    private FakeController mController;
+    private SelectionDiff mDiff;
+    private final List<int[]> mSpans = new ArrayList<>();
+    private final SelectionDiff.OnDaysChangedListener mListener =
+            new SelectionDiff.OnDaysChangedListener() {
+                @Override
+                public void onDaysChanged(int firstEpochDay, int lastEpochDay) {
+                    mSpans.add(new int[]{firstEpochDay, lastEpochDay});
+                }
+            };
+
+    @Before
+    public void setUp() {
+        mController = new FakeController();
+        mController.startEpochDay = OCT_12;
+        mController.endEpochDay = OCT_20;
+        mController.rangeHighlighted = true;
+        mDiff = new SelectionDiff();
+        mDiff.update(mController, OCT_12, null);
+    }
+
+    @Test
+    public void nothingChanged() {
+        mDiff.update(mController, OCT_12, mListener);
+        assertEquals(0, mSpans.size());
+    }
+
+    @Test
+    public void movingTheEndReportsOnlyTheDaysBetween() {
+        mController.endEpochDay = DEC_3;
+        mDiff.update(mController, OCT_12, mListener);
+        assertEquals(1, mSpans.size());
+        assertSpan(OCT_20, DEC_3, mSpans.get(0));
+    }
+
+    @Test
+    public void movingTheSelectionReportsBothDays() {
+        mController.startEpochDay = OCT_20;
+        mDiff.update(mController, OCT_20, mListener);
+        assertCovered(OCT_12);
+        assertCovered(OCT_20);
+    }
+
+    @Test
+    public void highlightingTheRangeReportsTheWholeRange() {
+        mController.rangeHighlighted = false;
+        mDiff.update(mController, OCT_12, null);
+        mController.rangeHighlighted = true;
+        mDiff.update(mController, OCT_12, mListener);
+        assertEquals(1, mSpans.size());
+        assertSpan(OCT_12, OCT_20, mSpans.get(0));
+    }
+
+    @Test
+    public void movingTheMinimumReportsTheDaysBetween() {
+        mController.minSelectableEpochDay = OCT_12;
+        mDiff.update(mController, OCT_12, null);
+        mController.minSelectableEpochDay = OCT_20;
+        mDiff.update(mController, OCT_12, mListener);
+        assertEquals(1, mSpans.size());
+        assertSpan(OCT_12, OCT_20, mSpans.get(0));
+    }
+
+    private void assertCovered(int epochDay) {
+        for (int[] span : mSpans) {
+            if (span[0] <= epochDay && epochDay <= span[1]) {
+                return;
+            }
+        }
+        assertTrue("Day " + epochDay + " not reported", false);
+    }
+
+    private static void assertSpan(int first, int last, int[] span) {
+        assertEquals(first, span[0]);
+        assertEquals(last, span[1]);
+    }
+}
@@ -0,0 +1,74 @@
+package com.leavjenn.smoothdaterangepicker.date;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+
+public class TodayProviderTest {
+
+    private static final TimeZone TIME_ZONE = TimeZone.getTimeZone("America/New_York");
+
+    private FixedClock mClock;
+    private TodayProvider mProvider;
+
+    @Before
+    public void setUp() {
+        mClock = new FixedClock();
+        mProvider = new TodayProvider(mClock, TIME_ZONE);
+    }
+
+    @Test
+    public void todayIsTheDayOfTheClock() {
+        mClock.set(2015, Calendar.OCTOBER, 20, 15, 30);
+        assertEquals(EpochDay.of(2015, Calendar.OCTOBER, 20), mProvider.getToday());
+        assertEquals(20, mProvider.getDayOfMonthIn(2015, Calendar.OCTOBER));
+        assertEquals(-1, mProvider.getDayOfMonthIn(2015, Calendar.NOVEMBER));
+        assertEquals(-1, mProvider.getDayOfMonthIn(2016, Calendar.OCTOBER));
+    }
+
+    @Test
+    public void todayChangesAtLocalMidnight() {
+        mClock.set(2015, Calendar.DECEMBER, 31, 23, 59);
+        assertEquals(31, mProvider.getDayOfMonthIn(2015, Calendar.DECEMBER));
+        mClock.set(2016, Calendar.JANUARY, 1, 0, 0);
+        assertEquals(-1, mProvider.getDayOfMonthIn(2015, Calendar.DECEMBER));
+        assertEquals(1, mProvider.getDayOfMonthIn(2016, Calendar.JANUARY));
+    }
+
+    @Test
+    public void todayFollowsTheClockBackwards() {
+        mClock.set(2015, Calendar.MARCH, 9, 0, 30);
+        assertEquals(9, mProvider.getDayOfMonthIn(2015, Calendar.MARCH));
+        mClock.set(2015, Calendar.MARCH, 8, 23, 30);
+        assertEquals(8, mProvider.getDayOfMonthIn(2015, Calendar.MARCH));
+    }
+
+    @Test
+    public void todayIsNotReadFromTheClockAgainWithinTheDay() {
+        mClock.set(2015, Calendar.MARCH, 8, 1, 0);
+        mProvider.getToday();
+        mClock.reads = 0;
+        mProvider.getToday();
+        assertEquals(1, mClock.reads);
+    }
+
+    private static class FixedClock implements TodayProvider.Clock {
+        private final Calendar mCalendar = Calendar.getInstance(TIME_ZONE);
+        int reads;
+
+        void set(int year, int month, int day, int hour, int minute) {
+            mCalendar.clear();
+            mCalendar.set(year, month, day, hour, minute);
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            reads++;
+            return mCalendar.getTimeInMillis();
+        }
+    }
+}